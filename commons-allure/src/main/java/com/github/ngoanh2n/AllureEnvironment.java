@@ -66,7 +66,7 @@ public final class AllureEnvironment {
     public static void write(Path resultsDir, Properties... props) {
         String name = "environment.properties";
         File file = resultsDir.resolve(name).toFile();
-        Commons.writeProps(mergeProps(props), file);
+        Commons.writePropsIfChanged(mergeProps(props), file);
     }
 
     //-------------------------------------------------------------------------------//
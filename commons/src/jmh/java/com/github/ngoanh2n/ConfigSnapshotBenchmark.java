@@ -0,0 +1,50 @@
+package com.github.ngoanh2n;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure the first {@link PropertiesFile} load of a fresh JVM, with and without {@link ConfigSnapshot}.<br>
+ * Every fork is a new JVM and loads the file once, which is what a forked test JVM pays at startup.
+ * With snapshot, the first fork creates the snapshot and later forks load it.<br>
+ * Run: {@code gradlew :commons:jmh -Pjmh.includes=ConfigSnapshotBenchmark}
+ *
+ * @author ngoanh2n
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(10)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class ConfigSnapshotBenchmark {
+    @Param({"false", "true"})
+    public boolean snapshot;
+    @Param({"1000", "100000"})
+    public int lines;
+    private Path path;
+
+    @Setup
+    public void setup() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            content.append("locale.message.").append(i).append(" = Message number \\u00e9 ").append(i).append('\n');
+        }
+        Path dir = Files.createDirectories(Paths.get("build", "tmp", "jmh"));
+        path = dir.resolve("ConfigSnapshotBenchmark-" + lines + ".properties");
+        Files.writeString(path, content);
+
+        System.setProperty("ngoanh2n.configSnapshot", String.valueOf(snapshot));
+        System.setProperty("ngoanh2n.configSnapshotDir", dir.resolve("snapshots").toString());
+    }
+
+    @Benchmark
+    public PropertiesFile firstLoad() {
+        return new PropertiesFile(path.toFile());
+    }
+}
@@ -0,0 +1,74 @@
+package com.github.ngoanh2n;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure {@link PropertiesFile} lookups under contention.<br>
+ * Run: {@code gradlew :commons:jmh -Pjmh.includes=PropertiesFileBenchmark}
+ *
+ * @author ngoanh2n
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PropertiesFileBenchmark {
+    private PropertiesFile propertiesFile;
+    private Property<Integer> timeout;
+    private Property<Boolean> headless;
+    private IntProperty timeoutAsInt;
+
+    @Setup
+    public void setup() {
+        propertiesFile = new PropertiesFile("com/github/ngoanh2n/Benchmark.properties");
+        timeout = Property.ofInteger("benchmark.timeout", 10);
+        headless = Property.ofBoolean("benchmark.headless", false);
+        timeoutAsInt = new IntProperty("benchmark.timeout", 10);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String getStringSingleThread() {
+        return propertiesFile.getProperty("benchmark.browser");
+    }
+
+    @Benchmark
+    @Threads(32)
+    public String getString32Threads() {
+        return propertiesFile.getProperty("benchmark.browser");
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Integer getTypedSingleThread() {
+        return propertiesFile.getProperty(timeout);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public Integer getTyped32Threads() {
+        return propertiesFile.getProperty(timeout);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public Boolean getTyped64Threads() {
+        return propertiesFile.getProperty(headless);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int getIntSingleThread() {
+        return propertiesFile.getProperty(timeoutAsInt);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public int getInt32Threads() {
+        return propertiesFile.getProperty(timeoutAsInt);
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.ngoanh2n;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare {@link PropertiesMap#read(java.io.File, java.nio.charset.Charset, boolean)} against {@link Properties#load(java.io.Reader)}.<br>
+ * Run: {@code gradlew :commons:jmh -Pjmh.includes=PropertiesParserBenchmark}
+ *
+ * @author ngoanh2n
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PropertiesParserBenchmark {
+    @Param({"1000", "100000"})
+    public int lines;
+    private Path path;
+
+    @Setup
+    public void setup() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            content.append("# Generated message ").append(i).append('\n');
+            content.append("locale.message.").append(i).append(" = Message number ").append(i).append('\n');
+        }
+        path = Files.createTempFile("PropertiesParserBenchmark", ".properties");
+        Files.writeString(path, content);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Benchmark
+    public Properties propertiesLoad() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream is = Files.newInputStream(path)) {
+            properties.load(new InputStreamReader(is, StandardCharsets.UTF_8));
+        }
+        return properties;
+    }
+
+    @Benchmark
+    public PropertiesMap propertiesMapRead() {
+        return PropertiesMap.read(path.toFile(), StandardCharsets.UTF_8, false);
+    }
+
+    @Benchmark
+    public PropertiesMap propertiesMapReadInterned() {
+        return PropertiesMap.read(path.toFile(), StandardCharsets.UTF_8, true);
+    }
+}
@@ -0,0 +1,269 @@
+package com.github.ngoanh2n;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bind a group of properties sharing a key prefix to a record or an interface.<br>
+ * Each record component or interface method is a property named {@code <prefix>.<name>},
+ * its value is converted by {@link Converters}.<br><br>
+ *
+ * <pre>{@code
+ *      record Browser(String name, boolean headless, Duration timeout) { }
+ *
+ *      // browser.name=chrome
+ *      // browser.headless=true
+ *      // browser.timeout=30s
+ *      Binding<Browser> binding = Binding.of(Browser.class, "browser", new PropertiesFile("browser.properties"));
+ *      Browser browser = binding.get();
+ * }</pre>
+ *
+ * <ul>
+ *     <li>Records are constructed through a cached {@link MethodHandle} of the canonical constructor.</li>
+ *     <li>Interfaces are implemented by a {@link Proxy}; a missing property falls back to the default method if any.</li>
+ *     <li>Missing properties are {@code null}, or zero/{@code false} for primitive types.</li>
+ *     <li>The bound object is rebuilt only after {@link Property#setValue(Object)}, {@link Property#clearValue()},
+ *     {@link Property#invalidateAll()} or {@link PropertiesFile#reload()}.</li>
+ * </ul>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/commons">ngoanh2n/commons</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/commons">com.github.ngoanh2n:commons</a></em></li>
+ * </ul>
+ *
+ * @param <T> The type of bound object.
+ * @author ngoanh2n
+ * @since 2024
+ */
+@ParametersAreNonnullByDefault
+public final class Binding<T> {
+    private static final ClassValue<Shape> shapes = new ClassValue<>() {
+        @Override
+        protected Shape computeValue(Class<?> type) {
+            return new Shape(type);
+        }
+    };
+    private final Class<T> type;
+    private final String prefix;
+    private final UnaryOperator<String> lookup;
+    private volatile Bound<T> bound;
+
+    private Binding(Class<T> type, String prefix, UnaryOperator<String> lookup) {
+        this.type = type;
+        this.prefix = prefix.isEmpty() || prefix.endsWith(".") ? prefix : prefix + ".";
+        this.lookup = lookup;
+        shapes.get(type);
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Bind JVM system properties.
+     *
+     * @param type   The record or interface to bind.
+     * @param prefix The common prefix of property names, e.g. {@code browser}.
+     * @param <T>    The type of bound object.
+     * @return The {@link Binding}.
+     */
+    public static <T> Binding<T> of(Class<T> type, String prefix) {
+        return new Binding<>(type, prefix, Binding::getSystemValue);
+    }
+
+    /**
+     * Bind properties of a {@link PropertiesFile}.<br>
+     * Priority order: JVM System Property, Properties file.
+     *
+     * @param type           The record or interface to bind.
+     * @param prefix         The common prefix of property names, e.g. {@code browser}.
+     * @param propertiesFile The {@link PropertiesFile} to read.
+     * @param <T>            The type of bound object.
+     * @return The {@link Binding}.
+     */
+    public static <T> Binding<T> of(Class<T> type, String prefix, PropertiesFile propertiesFile) {
+        return new Binding<>(type, prefix, name -> {
+            String value = getSystemValue(name);
+            return value != null ? value : propertiesFile.getValues().get(name);
+        });
+    }
+
+    /**
+     * Bind properties of a {@link ConfigStack}.
+     *
+     * @param type   The record or interface to bind.
+     * @param prefix The common prefix of property names, e.g. {@code browser}.
+     * @param config The {@link ConfigStack} to read.
+     * @param <T>    The type of bound object.
+     * @return The {@link Binding}.
+     */
+    public static <T> Binding<T> of(Class<T> type, String prefix, ConfigStack config) {
+        return new Binding<>(type, prefix, config::getProperty);
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Get the bound object. It is rebuilt only if the configuration has changed since the last call.
+     *
+     * @return The bound object.
+     */
+    public T get() {
+        long version = Property.version();
+        Bound<T> bound = this.bound;
+
+        if (bound == null || bound.version != version) {
+            bound = new Bound<>(version, type.cast(shapes.get(type).create(prefix, lookup)));
+            this.bound = bound;
+        }
+        return bound.value;
+    }
+
+    /**
+     * Get the type of bound object.
+     *
+     * @return The record or interface type.
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Get the common prefix of property names.
+     *
+     * @return The prefix, ends with {@code .} unless it is empty.
+     */
+    public String getPrefix() {
+        return prefix;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private static String getSystemValue(String name) {
+        String value = System.getProperty(name);
+        return value == null || value.equals("null") ? null : value;
+    }
+
+    //===============================================================================//
+
+    private record Bound<T>(long version, T value) { /**/ }
+
+    private static final class Shape {
+        private final Class<?> type;
+        private final String[] names;
+        private final Class<?>[] types;
+        private final Map<Method, Integer> methods;
+        private final MethodHandle constructor;
+
+        private Shape(Class<?> type) {
+            this.type = type;
+
+            if (type.isRecord()) {
+                RecordComponent[] components = type.getRecordComponents();
+                this.names = new String[components.length];
+                this.types = new Class<?>[components.length];
+                this.methods = null;
+
+                for (int i = 0; i < components.length; i++) {
+                    names[i] = components[i].getName();
+                    types[i] = components[i].getType();
+                }
+                try {
+                    MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+                    MethodHandle handle = lookup.findConstructor(type, MethodType.methodType(void.class, types));
+                    this.constructor = handle.asSpreader(Object[].class, types.length);
+                } catch (ReflectiveOperationException e) {
+                    throw new RuntimeError("Cannot access canonical constructor of " + type.getName(), e);
+                }
+            } else if (type.isInterface()) {
+                List<Method> methods = new ArrayList<>();
+                for (Method method : type.getMethods()) {
+                    if (!Modifier.isStatic(method.getModifiers()) && method.getParameterCount() == 0) {
+                        methods.add(method);
+                    }
+                }
+                this.methods = new HashMap<>();
+                this.names = new String[methods.size()];
+                this.types = new Class<?>[methods.size()];
+                this.constructor = null;
+
+                for (int i = 0; i < methods.size(); i++) {
+                    this.methods.put(methods.get(i), i);
+                    names[i] = methods.get(i).getName();
+                    types[i] = methods.get(i).getReturnType();
+                }
+            } else {
+                throw new RuntimeError("Type " + type.getName() + " is neither a record nor an interface");
+            }
+        }
+
+        private Object create(String prefix, UnaryOperator<String> lookup) {
+            Object[] values = new Object[names.length];
+            boolean[] present = new boolean[names.length];
+
+            for (int i = 0; i < names.length; i++) {
+                String value = lookup.apply(prefix + names[i]);
+                if (value != null) {
+                    values[i] = Converters.convert(types[i], value);
+                    present[i] = true;
+                }
+                if (values[i] == null && types[i].isPrimitive()) {
+                    values[i] = Array.get(Array.newInstance(types[i], 1), 0);
+                }
+            }
+            if (constructor != null) {
+                try {
+                    return constructor.invoke(values);
+                } catch (Throwable e) {
+                    throw new RuntimeError("Cannot bind " + prefix + "* to " + type.getName(), e);
+                }
+            }
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new Handler(this, prefix, values, present));
+        }
+    }
+
+    private static final class Handler implements InvocationHandler {
+        private final Shape shape;
+        private final String prefix;
+        private final Object[] values;
+        private final boolean[] present;
+
+        private Handler(Shape shape, String prefix, Object[] values, boolean[] present) {
+            this.shape = shape;
+            this.prefix = prefix;
+            this.values = values;
+            this.present = present;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> shape.type.getSimpleName() + toMap();
+                };
+            }
+            Integer index = shape.methods.get(method);
+            if (index == null) {
+                throw new UnsupportedOperationException(method.toString());
+            }
+            if (!present[index] && method.isDefault()) {
+                return InvocationHandler.invokeDefault(proxy, method, args);
+            }
+            return values[index];
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            for (int i = 0; i < shape.names.length; i++) {
+                map.put(prefix + shape.names[i], values[i]);
+            }
+            return map;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.ngoanh2n;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Represent a JVM system property of boolean, e.g. feature flags.<br>
+ * {@link #getAsBoolean()} parses the value once and returns the cached primitive
+ * until the JVM system property changes, without boxing.
+ * It also works with {@link PropertiesFile#getProperty(BooleanProperty)}.<br><br>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/commons">ngoanh2n/commons</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/commons">com.github.ngoanh2n:commons</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2024
+ */
+@ParametersAreNonnullByDefault
+public class BooleanProperty extends Property<Boolean> {
+    private final boolean defaultAsBoolean;
+    private final ParseCache cache = new ParseCache();
+
+    /**
+     * Construct a new {@link BooleanProperty}.
+     *
+     * @param name The name of the JVM system property.
+     */
+    public BooleanProperty(String name) {
+        super(name, Boolean.class);
+        this.defaultAsBoolean = false;
+    }
+
+    /**
+     * Construct a new {@link BooleanProperty}.
+     *
+     * @param name         The name of the JVM system property.
+     * @param defaultValue The default value of the JVM system property.
+     */
+    public BooleanProperty(String name, boolean defaultValue) {
+        super(name, Boolean.class, defaultValue);
+        this.defaultAsBoolean = defaultValue;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Get the value of the JVM system property as {@code boolean}.
+     *
+     * @return The JVM system property value; the default value if the JVM system property is absent.
+     */
+    public boolean getAsBoolean() {
+        return parse(getResolvedSystemValue());
+    }
+
+    /**
+     * Get the default value of the JVM system property as {@code boolean}.
+     *
+     * @return The default value; {@code false} if no default value.
+     */
+    public boolean getDefaultAsBoolean() {
+        return defaultAsBoolean;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Parse a value with placeholders already resolved. The last parsed value is cached until the value changes.
+     *
+     * @param raw The resolved value.
+     * @return The parsed value; the default value if the value is {@code null} or {@code "null"}.
+     */
+    boolean parse(@Nullable String raw) {
+        if (raw == null || raw.equals("null")) {
+            return defaultAsBoolean;
+        }
+        return cache.get(raw, value -> Boolean.parseBoolean(value) ? 1 : 0) != 0;
+    }
+}
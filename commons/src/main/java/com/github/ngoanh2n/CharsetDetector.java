@@ -0,0 +1,216 @@
+package com.github.ngoanh2n;
+
+import org.mozilla.universalchardet.UniversalDetector;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Detect charset with {@link UniversalDetector} from a bounded sample.<br>
+ * Detection stops as soon as the detector is confident, or after {@code ngoanh2n.charsetSampleSize} bytes (default 64 KiB).
+ * A sample that is plain ASCII but shorter than the content is reported as UTF-8, since non-ASCII bytes may follow it.
+ * Results for files are cached by path, size and last modified time, for at most {@value #MAX_CACHED} files.<br><br>
+ *
+ * Set {@code ngoanh2n.autoCharset=true} to make {@link Commons#readProps(String)}, {@link Resources#getContent(String)}
+ * and {@link YamlData} detect charset instead of using their default charset.
+ *
+ * @author ngoanh2n
+ * @since 2024
+ */
+final class CharsetDetector {
+    private static final BooleanProperty autoCharset = new BooleanProperty("ngoanh2n.autoCharset");
+    private static final IntProperty sampleSize = new IntProperty("ngoanh2n.charsetSampleSize", 64 * 1024);
+    private static final ThreadLocal<UniversalDetector> detectors = ThreadLocal.withInitial(UniversalDetector::new);
+    private static final int MAX_CACHED = 256;
+    private static final int CHUNK_SIZE = 4096;
+    private static final Map<Path, Detected> cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, Detected> eldest) {
+            return size() > MAX_CACHED;
+        }
+    });
+
+    private CharsetDetector() { /**/ }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Whether auto-charset mode is enabled.
+     *
+     * @return Indicate to detect charset by default.
+     */
+    static boolean isAuto() {
+        return autoCharset.getAsBoolean();
+    }
+
+    /**
+     * Detect charset of a file.
+     *
+     * @param path The file to detect.
+     * @return The charset name; {@code null} if it could not be determined.
+     * @throws IOException if some IO error occurs.
+     */
+    @Nullable
+    static String detect(Path path) throws IOException {
+        Path key = path.toAbsolutePath().normalize();
+        BasicFileAttributes attributes = Files.readAttributes(key, BasicFileAttributes.class);
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+
+        Detected detected = cache.get(key);
+        if (detected != null && detected.size == size && detected.lastModified == lastModified) {
+            return detected.charset;
+        }
+
+        UniversalDetector detector = detectors.get();
+        try (FileChannel channel = FileChannel.open(key, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+            long sample = Math.min(size, sampleSize.getAsInt());
+            long remaining = sample;
+
+            while (remaining > 0 && !detector.isDone()) {
+                buffer.clear();
+                buffer.limit((int) Math.min(CHUNK_SIZE, remaining));
+                int read = channel.read(buffer);
+                if (read < 0) {
+                    break;
+                }
+                detector.handleData(buffer.array(), 0, read);
+                remaining -= read;
+            }
+            detector.dataEnd();
+            String charset = widen(detector.getDetectedCharset(), sample - remaining < size);
+            cache.put(key, new Detected(size, lastModified, charset));
+            return charset;
+        } finally {
+            detector.reset();
+        }
+    }
+
+    /**
+     * Detect charset of content in memory.
+     *
+     * @param bytes The content to detect.
+     * @return The charset name; {@code null} if it could not be determined.
+     */
+    @Nullable
+    static String detect(byte[] bytes) {
+        UniversalDetector detector = detectors.get();
+        try {
+            int limit = Math.min(bytes.length, sampleSize.getAsInt());
+            int offset = 0;
+            while (offset < limit && !detector.isDone()) {
+                int length = Math.min(CHUNK_SIZE, limit - offset);
+                detector.handleData(bytes, offset, length);
+                offset += length;
+            }
+            detector.dataEnd();
+            return widen(detector.getDetectedCharset(), offset < bytes.length);
+        } finally {
+            detector.reset();
+        }
+    }
+
+    /**
+     * Detect charset of a file, falling back when it could not be determined.
+     *
+     * @param path     The file to detect.
+     * @param fallback The charset to use if detection fails.
+     * @return The detected charset or the fallback.
+     */
+    static Charset detect(Path path, Charset fallback) {
+        try {
+            return toCharset(detect(path), fallback);
+        } catch (IOException ignored) {
+            return fallback;
+        }
+    }
+
+    /**
+     * Detect charset of content in memory, falling back when it could not be determined.
+     *
+     * @param bytes    The content to detect.
+     * @param fallback The charset to use if detection fails.
+     * @return The detected charset or the fallback.
+     */
+    static Charset detect(byte[] bytes, Charset fallback) {
+        return toCharset(detect(bytes), fallback);
+    }
+
+    /**
+     * Get the charset to read a file with by default.
+     *
+     * @param path The file to read.
+     * @return The detected charset in auto-charset mode; {@link Charset#defaultCharset()} otherwise.
+     */
+    static Charset forFile(Path path) {
+        Charset fallback = Charset.defaultCharset();
+        return isAuto() ? detect(path, fallback) : fallback;
+    }
+
+    /**
+     * Get the charset to read a resource with by default.<br>
+     * A resource on the file system is detected and cached per file, like {@link #forFile(Path)}.
+     * Otherwise, e.g. a jar entry or a compressed resource, a sample is read from its stream.
+     *
+     * @param resourceName The resource to read.
+     * @return The detected charset in auto-charset mode; {@link Charset#defaultCharset()} otherwise.
+     */
+    static Charset forResource(String resourceName) {
+        Charset fallback = Charset.defaultCharset();
+        if (!isAuto()) {
+            return fallback;
+        }
+        File file = ResourceResolver.resolve(resourceName).file();
+        if (file != null && file.isFile()) {
+            return detect(file.toPath(), fallback);
+        }
+        try (InputStream is = Resources.getInputStream(resourceName)) {
+            int sample = sampleSize.getAsInt();
+            return detect(is.readNBytes(sample == Integer.MAX_VALUE ? sample : sample + 1), fallback);
+        } catch (IOException ignored) {
+            return fallback;
+        }
+    }
+
+    /**
+     * Clear cached results.
+     */
+    static void clearCache() {
+        cache.clear();
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    @Nullable
+    private static String widen(@Nullable String charset, boolean truncated) {
+        return truncated && "US-ASCII".equals(charset) ? "UTF-8" : charset;
+    }
+
+    private static Charset toCharset(@Nullable String name, Charset fallback) {
+        if (name == null) {
+            return fallback;
+        }
+        try {
+            return Charset.forName(name);
+        } catch (IllegalArgumentException ignored) {
+            return fallback;
+        }
+    }
+
+    //===============================================================================//
+
+    private record Detected(long size, long lastModified, String charset) { /**/ }
+}
@@ -12,13 +12,18 @@ import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.net.URL;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.nio.file.*;
+import java.nio.file.attribute.PosixFileAttributeView;
 import java.text.Format;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Common helpers.<br><br>
@@ -143,21 +148,114 @@ public final class Commons {
     }
 
     /**
-     * Read {@link Properties} from given Java resource name.
+     * Write {@link Properties} to file only if the content changes.<br>
+     * See {@link #writePropsIfChanged(Properties, File, boolean)}.
+     *
+     * @param props to be written.
+     * @param file  to be stored.
+     * @return {@code true} if the file was written; {@code false} if the file already had the same content.
+     */
+    public static boolean writePropsIfChanged(Properties props, File file) {
+        return writePropsIfChanged(props, file, false);
+    }
+
+    /**
+     * Write {@link Properties} to file only if the content changes.
+     * <ul>
+     *     <li>Properties are written sorted and without timestamp, so the same properties always give the same content.</li>
+     *     <li>If the file already has the same content, it is not touched.</li>
+     *     <li>Otherwise, the content is written to a temporary file in the same directory,
+     *     then moved atomically to the target. Readers never see a partially written file.</li>
+     * </ul>
+     *
+     * @param props to be written.
+     * @param file  to be stored.
+     * @param fsync Indicate to force the content to the storage device before moving.
+     * @return {@code true} if the file was written; {@code false} if the file already had the same content.
+     */
+    public static boolean writePropsIfChanged(Properties props, File file, boolean fsync) {
+        Path path = file.toPath().toAbsolutePath();
+        createDir(path.getParent());
+        String msg = String.format("Write Properties to %s", getRelative(file));
+
+        try {
+            SortedProperties propsSorted = new SortedProperties();
+            propsSorted.putAll(props);
+            ByteArrayOutputStream content = new ByteArrayOutputStream(8192);
+            propsSorted.write(content);
+            byte[] bytes = content.toByteArray();
+
+            if (Files.isRegularFile(path) && Files.size(path) == bytes.length) {
+                if (Arrays.equals(Files.readAllBytes(path), bytes)) {
+                    log.debug("Skip writing Properties to {}, content is unchanged", getRelative(file));
+                    return false;
+                }
+            }
+
+            Path temp = createTempSibling(path);
+            try {
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    if (fsync) {
+                        channel.force(true);
+                    }
+                }
+                try {
+                    Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException ignored) {
+                    Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            log.error(msg);
+            throw new RuntimeError(msg, e);
+        }
+        return true;
+    }
+
+    /**
+     * Create an empty file next to the target, to be moved onto it.<br>
+     * Unlike {@link Files#createTempFile(Path, String, String)} which always uses mode 0600,
+     * it gets the permissions of the existing target, or the default permissions (umask) for a new file.
+     */
+    private static Path createTempSibling(Path path) throws IOException {
+        String suffix = Long.toUnsignedString(ThreadLocalRandom.current().nextLong(), 36);
+        Path temp = Files.createFile(path.resolveSibling("." + path.getFileName() + "." + suffix + ".tmp"));
+        PosixFileAttributeView target = Files.getFileAttributeView(path, PosixFileAttributeView.class);
+
+        if (target != null && Files.exists(path)) {
+            try {
+                Files.setPosixFilePermissions(temp, target.readAttributes().permissions());
+            } catch (IOException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+        }
+        return temp;
+    }
+
+    /**
+     * Read {@link Properties} from given Java resource name.<br>
+     * Read in UTF-8, or detect charset if {@code ngoanh2n.autoCharset=true}.
      *
      * @param resourceName Java resource name to read.
      * @return {@link Properties} object.
      */
     public static Properties readProps(@Nonnull String resourceName) {
         File file = Resources.getFile(resourceName);
-        return readProps(file, "UTF-8");
+        return readProps(file, CharsetDetector.isAuto() ? "auto" : "UTF-8");
     }
 
     /**
      * Read {@link Properties} from given properties file.
      *
      * @param file    to read.
-     * @param charset The name of a supported charset.
+     * @param charset The name of a supported charset, or {@code auto} to detect charset (UTF-8 if it could not be determined).
      * @return {@link Properties} object.
      */
     public static Properties readProps(@Nonnull File file, String charset) {
@@ -166,9 +264,12 @@ public final class Commons {
         String msg = "Read Properties " + path;
 
         try (InputStream is = Files.newInputStream(file.toPath())) {
-            InputStreamReader isr = new InputStreamReader(is, charset);
+            Charset cs = charset.equalsIgnoreCase("auto")
+                    ? CharsetDetector.detect(file.toPath(), StandardCharsets.UTF_8)
+                    : Charset.forName(charset);
+            InputStreamReader isr = new InputStreamReader(is, cs);
             props.load(isr);
-        } catch (IOException e) {
+        } catch (IOException | IllegalCharsetNameException | UnsupportedCharsetException e) {
             log.error(msg);
             throw new RuntimeError(msg, e);
         }
@@ -177,14 +278,15 @@ public final class Commons {
 
     /**
      * Get the charset of a file. <br>
-     * Method to mark {@link UniversalDetector} for reusing.
+     * Method to mark {@link UniversalDetector} for reusing.<br>
+     * Only a bounded prefix of the file is sampled, and the result is cached until the file size or last modified time changes.
      *
      * @param file The file to check charset for.
      * @return The charset of the file, null when could not be determined.
      * @throws IOException if some IO error occurs.
      */
     public static String detectCharset(File file) throws IOException {
-        return UniversalDetector.detectCharset(file.toPath());
+        return CharsetDetector.detect(file.toPath());
     }
 
     /**
@@ -339,57 +441,45 @@ public final class Commons {
     }
 
     /**
-     * Convert String value to a specific object.
+     * Convert String value to a specific object.<br>
+     * The conversion is done by the {@link Converter} registered in {@link Converters}.
      *
      * @param type  The Class object which to return an object.
      * @param value String value to convert.
      * @param <T>   The type of target object.
      * @return The target object.
      */
-    @SuppressWarnings("unchecked")
     public static <T> T convertValue(Class<T> type, String value) {
-        if (!type.isEnum()) {
-            if (type == URL.class) {
-                try {
-                    return (T) new URL(value);
-                } catch (Exception e) {
-                    throw new RuntimeError(e);
-                }
-            }
-            if (type == String.class) return (T) value;
-            if (type == Byte.class) return (T) Byte.valueOf(value);
-            if (type == Long.class) return (T) Long.valueOf(value);
-            if (type == Short.class) return (T) Short.valueOf(value);
-            if (type == Float.class) return (T) Float.valueOf(value);
-            if (type == Double.class) return (T) Double.valueOf(value);
-            if (type == Integer.class) return (T) Integer.valueOf(value);
-            if (type == Boolean.class) return (T) Boolean.valueOf(value);
-            throw new RuntimeError("Type " + type.getTypeName() + " cannot be parsed");
-        }
-        return Commons.buildEnum(type, value).orElse(null);
+        return Converters.convert(type, value);
     }
 
     /**
      * Build enum from enum class and enum constant name.
      *
      * @param type The Class object of the enum type from which to return a constant.
-     * @param name The name of enum constant to return, exactly as declared in its enum declaration.
+     * @param name The name of enum constant to return, exactly as declared in its enum declaration or its {@link EnumAlias}.
      * @param <T>  The type of enum object.
      * @return Optional of the enum constant of the specified enum type with the specified name.
      */
-    @SuppressWarnings("unchecked")
     public static <T> Optional<T> buildEnum(Class<T> type, String name) {
-        for (Field field : type.getDeclaredFields()) {
-            if (field.isEnumConstant() && field.getName().equals(name)) {
-                try {
-                    Method valueOfMethod = type.getDeclaredMethod("valueOf", String.class);
-                    return (Optional<T>) Optional.of(valueOfMethod.invoke(null, name));
-                } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
-                    return Optional.empty();
-                }
-            }
+        return buildEnum(type, name, false);
+    }
+
+    /**
+     * Build enum from enum class and enum constant name.
+     *
+     * @param type       The Class object of the enum type from which to return a constant.
+     * @param name       The name of enum constant to return, as declared in its enum declaration or its {@link EnumAlias}.
+     * @param ignoreCase Indicate to match the name case-insensitively.
+     * @param <T>        The type of enum object.
+     * @return Optional of the enum constant of the specified enum type with the specified name.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Optional<T> buildEnum(Class<T> type, String name, boolean ignoreCase) {
+        if (name == null) {
+            return Optional.empty();
         }
-        return Optional.empty();
+        return Optional.ofNullable((T) EnumIndex.of(type).get(name, ignoreCase));
     }
 
     //-------------------------------------------------------------------------------//
@@ -0,0 +1,388 @@
+package com.github.ngoanh2n;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.Function;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary snapshot of a parsed configuration file, stored under {@code build/} and reused by later JVMs.<br>
+ * Opt-in with {@code -Dngoanh2n.configSnapshot=true}; the directory is {@code ngoanh2n.configSnapshotDir}.<br><br>
+ *
+ * A snapshot is keyed by the size and the CRC32C checksum of the source content,
+ * so it is used only if the source is unchanged. It is read with one mapped read and no parsing.
+ * Yaml documents are stored as an explicit binary tree of maps, lists and scalars, never by Java serialization;
+ * documents holding other types are not snapshotted.
+ * Failing to read or write a snapshot is never an error, the source is parsed as usual.
+ *
+ * @author ngoanh2n
+ * @since 2024
+ */
+final class ConfigSnapshot {
+    private static final Logger log = LoggerFactory.getLogger(ConfigSnapshot.class);
+    private static final BooleanProperty enabled = new BooleanProperty("ngoanh2n.configSnapshot");
+    private static final Property<String> directory = Property.ofString("ngoanh2n.configSnapshotDir");
+    private static final String DEFAULT_DIRECTORY = "build/ngoanh2n/config-snapshots";
+    private static final int MAGIC = 0x4E47_4353;
+    private static final int VERSION = 2;
+    private static final byte PROPERTIES = 'P';
+    private static final byte YAML = 'Y';
+    private static final byte NULL = 'n';
+    private static final byte STRING = 's';
+    private static final byte BOOLEAN = 'z';
+    private static final byte INTEGER = 'i';
+    private static final byte LONG = 'j';
+    private static final byte BIG_INTEGER = 'g';
+    private static final byte DOUBLE = 'd';
+    private static final byte DATE = 't';
+    private static final byte BINARY = 'b';
+    private static final byte LIST = 'l';
+    private static final byte SET = 'e';
+    private static final byte MAP = 'm';
+
+    private ConfigSnapshot() { /**/ }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Whether snapshots are enabled.
+     *
+     * @return Indicate snapshots are enabled.
+     */
+    static boolean isEnabled() {
+        return enabled.getAsBoolean();
+    }
+
+    /**
+     * Read {@link Properties} from a file through its snapshot.
+     *
+     * @param file    The properties file.
+     * @param charset The charset of the file.
+     * @return {@link Properties} object.
+     */
+    static Properties readProps(File file, Charset charset) {
+        Source source = Source.read(file, charset);
+        Properties properties = source.load(PROPERTIES, ConfigSnapshot::decodeProps);
+
+        if (properties == null) {
+            Properties parsed = new Properties();
+            try {
+                new PropertiesParser(Channels.newChannel(new ByteArrayInputStream(source.content)), charset).parse(parsed::put);
+            } catch (IOException | IllegalArgumentException e) {
+                String msg = "Read Properties " + Commons.getRelative(file).getPath().replace('\\', '/');
+                log.error(msg);
+                throw new RuntimeError(msg, e);
+            }
+            source.store(PROPERTIES, encodeProps(parsed));
+            properties = parsed;
+        }
+        return properties;
+    }
+
+    /**
+     * Read the first Yaml document of a file through its snapshot.
+     *
+     * @param file    The Yaml file.
+     * @param charset The charset of the file.
+     * @param parser  The parser to use when no valid snapshot exists.
+     * @return The Yaml document.
+     */
+    static Object readYaml(File file, Charset charset, Function<InputStream, Object> parser) {
+        Source source = Source.read(file, charset);
+        Object object = source.load(YAML, ConfigSnapshot::decodeObject);
+
+        if (object == null) {
+            object = parser.apply(new ByteArrayInputStream(source.content));
+            source.store(YAML, encodeObject(object));
+        }
+        return object;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private static Properties decodeProps(ByteBuffer buffer) {
+        int size = readLength(buffer);
+        Properties properties = new Properties();
+        byte[] bytes = new byte[256];
+
+        for (int i = 0; i < size; i++) {
+            int keyLength = readLength(buffer);
+            bytes = ensure(bytes, keyLength);
+            buffer.get(bytes, 0, keyLength);
+            String key = new String(bytes, 0, keyLength, StandardCharsets.UTF_8);
+
+            int valueLength = readLength(buffer);
+            bytes = ensure(bytes, valueLength);
+            buffer.get(bytes, 0, valueLength);
+            properties.put(key, new String(bytes, 0, valueLength, StandardCharsets.UTF_8));
+        }
+        return properties;
+    }
+
+    private static byte[] encodeProps(Properties properties) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(properties.size());
+            for (String name : properties.stringPropertyNames()) {
+                writeString(out, name);
+                writeString(out, properties.getProperty(name));
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object decodeObject(ByteBuffer buffer) {
+        byte tag = buffer.get();
+        switch (tag) {
+            case NULL:
+                return null;
+            case STRING:
+                return readString(buffer);
+            case BOOLEAN:
+                return buffer.get() != 0;
+            case INTEGER:
+                return buffer.getInt();
+            case LONG:
+                return buffer.getLong();
+            case BIG_INTEGER:
+                return new BigInteger(readString(buffer));
+            case DOUBLE:
+                return buffer.getDouble();
+            case DATE:
+                return new Date(buffer.getLong());
+            case BINARY: {
+                byte[] bytes = new byte[readLength(buffer)];
+                buffer.get(bytes);
+                return bytes;
+            }
+            case LIST: {
+                int size = readLength(buffer);
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(decodeObject(buffer));
+                }
+                return list;
+            }
+            case SET: {
+                int size = readLength(buffer);
+                Set<Object> set = new LinkedHashSet<>();
+                for (int i = 0; i < size; i++) {
+                    set.add(decodeObject(buffer));
+                }
+                return set;
+            }
+            case MAP: {
+                int size = readLength(buffer);
+                Map<Object, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) {
+                    Object key = decodeObject(buffer);
+                    map.put(key, decodeObject(buffer));
+                }
+                return map;
+            }
+            default:
+                throw new IllegalStateException("Unknown snapshot tag " + tag);
+        }
+    }
+
+    private static byte[] encodeObject(Object object) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            encodeObject(out, object);
+        } catch (IOException e) {
+            log.debug("Skip snapshot, Yaml content is not supported: {}", e.getMessage());
+            return null;
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void encodeObject(DataOutputStream out, Object object) throws IOException {
+        if (object == null) {
+            out.writeByte(NULL);
+        } else if (object instanceof String value) {
+            out.writeByte(STRING);
+            writeString(out, value);
+        } else if (object instanceof Boolean value) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(value);
+        } else if (object instanceof Integer value) {
+            out.writeByte(INTEGER);
+            out.writeInt(value);
+        } else if (object instanceof Long value) {
+            out.writeByte(LONG);
+            out.writeLong(value);
+        } else if (object instanceof BigInteger value) {
+            out.writeByte(BIG_INTEGER);
+            writeString(out, value.toString());
+        } else if (object instanceof Double value) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(value);
+        } else if (object.getClass() == Date.class) {
+            out.writeByte(DATE);
+            out.writeLong(((Date) object).getTime());
+        } else if (object instanceof byte[] value) {
+            out.writeByte(BINARY);
+            out.writeInt(value.length);
+            out.write(value);
+        } else if (object instanceof List<?> list) {
+            out.writeByte(LIST);
+            out.writeInt(list.size());
+            for (Object element : list) {
+                encodeObject(out, element);
+            }
+        } else if (object instanceof Set<?> set) {
+            out.writeByte(SET);
+            out.writeInt(set.size());
+            for (Object element : set) {
+                encodeObject(out, element);
+            }
+        } else if (object instanceof Map<?, ?> map) {
+            out.writeByte(MAP);
+            out.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                encodeObject(out, entry.getKey());
+                encodeObject(out, entry.getValue());
+            }
+        } else {
+            throw new NotSerializableException(object.getClass().getName());
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[readLength(buffer)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int readLength(ByteBuffer buffer) {
+        // Every byte or element takes at least one byte, a larger length means a corrupted snapshot
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalStateException("Corrupted snapshot length " + length);
+        }
+        return length;
+    }
+
+    private static byte[] ensure(byte[] bytes, int length) {
+        return bytes.length >= length ? bytes : new byte[Math.max(length, bytes.length * 2)];
+    }
+
+    //===============================================================================//
+
+    private static final class Source {
+        private final Path path;
+        private final String charset;
+        private final byte[] content;
+        private final int checksum;
+
+        private Source(Path path, String charset, byte[] content) {
+            CRC32C crc = new CRC32C();
+            crc.update(content);
+
+            this.path = path;
+            this.charset = charset;
+            this.content = content;
+            this.checksum = (int) crc.getValue();
+        }
+
+        private static Source read(File file, Charset charset) {
+            Path path = file.toPath().toAbsolutePath().normalize();
+            try {
+                return new Source(path, charset.name(), Files.readAllBytes(path));
+            } catch (IOException e) {
+                String msg = "Read " + Commons.getRelative(file).getPath().replace('\\', '/');
+                log.error(msg);
+                throw new RuntimeError(msg, e);
+            }
+        }
+
+        private Path getSnapshot() {
+            String name = path.getFileName() + "-" + Integer.toHexString(path.toString().hashCode()) + ".snapshot";
+            String dir = Objects.requireNonNullElse(directory.getValue(), DEFAULT_DIRECTORY);
+            return Paths.get(dir).toAbsolutePath().resolve(name);
+        }
+
+        private <T> T load(byte kind, Function<ByteBuffer, T> decoder) {
+            Path snapshot = getSnapshot();
+            if (!Files.isRegularFile(snapshot)) {
+                return null;
+            }
+            try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.get() != kind) {
+                    return null;
+                }
+                if (buffer.getLong() != content.length || buffer.getInt() != checksum) {
+                    return null;
+                }
+                byte[] header = new byte[buffer.getShort()];
+                buffer.get(header);
+                if (!new String(header, StandardCharsets.UTF_8).equals(path + "|" + charset)) {
+                    return null;
+                }
+                T value = decoder.apply(buffer);
+                if (value != null) {
+                    log.debug("Load snapshot {}", snapshot);
+                }
+                return value;
+            } catch (IOException | RuntimeException | StackOverflowError e) {
+                log.debug("Skip snapshot {}: {}", snapshot, e.toString());
+                return null;
+            }
+        }
+
+        private void store(byte kind, byte[] payload) {
+            if (payload == null) {
+                return;
+            }
+            Path snapshot = getSnapshot();
+            byte[] header = (path + "|" + charset).getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.allocate(4 + 4 + 1 + 8 + 4 + 2 + header.length + payload.length);
+            buffer.putInt(MAGIC).putInt(VERSION).put(kind);
+            buffer.putLong(content.length).putInt(checksum);
+            buffer.putShort((short) header.length).put(header);
+            buffer.put(payload).flip();
+
+            try {
+                Path parent = Commons.createDir(snapshot.getParent());
+                Path temp = Files.createTempFile(parent, snapshot.getFileName().toString(), ".tmp");
+                try {
+                    try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                        while (buffer.hasRemaining()) {
+                            channel.write(buffer);
+                        }
+                    }
+                    try {
+                        Files.move(temp, snapshot, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                    } catch (AtomicMoveNotSupportedException ignored) {
+                        Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+                log.debug("Store snapshot {}", snapshot);
+            } catch (IOException | RuntimeException e) {
+                log.debug("Skip storing snapshot {}: {}", snapshot, e.toString());
+            }
+        }
+    }
+}
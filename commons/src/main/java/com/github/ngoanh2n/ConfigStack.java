@@ -0,0 +1,235 @@
+package com.github.ngoanh2n;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Layered configuration: JVM system properties, environment variables, properties files and defaults.<br>
+ * Layers are flattened into one immutable map, so a lookup is a single hash probe.
+ * The map is recomputed on the next lookup after {@link Property#setValue(Object)}, {@link Property#clearValue()},
+ * {@link Property#invalidateAll()} or {@link PropertiesFile#reload()}.<br><br>
+ *
+ * Layers added first take precedence.
+ * <pre>{@code
+ *      ConfigStack config = new ConfigStack()
+ *              .addSystemProperties()
+ *              .addEnvironment()
+ *              .addPropertiesFile(new PropertiesFile("local.properties"))
+ *              .addPropertiesFile(new PropertiesFile("default.properties"))
+ *              .addDefaults(Map.of("browser", "chrome"));
+ *
+ *      String browser = config.getProperty("browser");
+ *      ConfigStack.Provenance provenance = config.getProvenance("browser").orElseThrow();
+ * }</pre>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/commons">ngoanh2n/commons</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/commons">com.github.ngoanh2n:commons</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2024
+ */
+@CanIgnoreReturnValue
+@ParametersAreNonnullByDefault
+public class ConfigStack {
+    private final List<Layer> layers;
+    private volatile View view;
+
+    /**
+     * Construct a new empty {@link ConfigStack}.
+     */
+    public ConfigStack() {
+        this.layers = new ArrayList<>();
+        this.view = new View(Collections.emptyList(), Property.version());
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Add JVM system properties as the next layer.<br>
+     * Properties with value {@code "null"}, e.g. after {@link Property#setValue(Object) Property.setValue(null)}, are absent.
+     *
+     * @return The current {@link ConfigStack}.
+     */
+    public ConfigStack addSystemProperties() {
+        return addLayer("system", () -> {
+            Properties properties = System.getProperties();
+            Map<String, String> values = new HashMap<>();
+            for (String name : properties.stringPropertyNames()) {
+                String value = properties.getProperty(name);
+                if (!value.equals("null")) {
+                    values.put(name, value);
+                }
+            }
+            return values;
+        });
+    }
+
+    /**
+     * Add environment variables as the next layer.
+     *
+     * @return The current {@link ConfigStack}.
+     */
+    public ConfigStack addEnvironment() {
+        Map<String, String> environment = System.getenv();
+        return addLayer("environment", () -> environment);
+    }
+
+    /**
+     * Add a {@link PropertiesFile} as the next layer.
+     *
+     * @param propertiesFile The {@link PropertiesFile} to add.
+     * @return The current {@link ConfigStack}.
+     */
+    public ConfigStack addPropertiesFile(PropertiesFile propertiesFile) {
+        return addLayer("file:" + propertiesFile.getSource(), propertiesFile::getValues);
+    }
+
+    /**
+     * Add default values as the next layer.
+     *
+     * @param defaults The default values.
+     * @return The current {@link ConfigStack}.
+     */
+    public ConfigStack addDefaults(Map<String, String> defaults) {
+        Map<String, String> values = Map.copyOf(defaults);
+        return addLayer("defaults", () -> values);
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Get the value of property by name.
+     *
+     * @param name The name of property.
+     * @return The value of property; {@code null} if no layer has the property.
+     */
+    public String getProperty(String name) {
+        Provenance provenance = view().values.get(name);
+        return provenance == null ? null : provenance.value();
+    }
+
+    /**
+     * Get the value of property by other property.<br>
+     * The default value of the {@link Property} is used when no layer has the property.
+     *
+     * @param <T>      The type of current property.
+     * @param property The {@link Property} to refer.
+     * @return The value of {@link Property}.
+     */
+    public <T> T getProperty(Property<T> property) {
+        View view = view();
+        Provenance provenance = view.values.get(property.getName());
+
+        if (provenance == null) {
+            return property.getDefaultValue();
+        }
+        return view.conversions.get(property.getType(), provenance.key(), provenance.value());
+    }
+
+    /**
+     * Get where the value of property comes from.
+     *
+     * @param name The name of property.
+     * @return The {@link Provenance} of property; empty if no layer has the property.
+     */
+    public Optional<Provenance> getProvenance(String name) {
+        return Optional.ofNullable(view().values.get(name));
+    }
+
+    /**
+     * Get all properties after flattening layers.
+     *
+     * @return The immutable {@link Map} of property names and values.
+     */
+    public Map<String, String> asMap() {
+        return view().flat;
+    }
+
+    /**
+     * Recompute the flattened properties from layers.<br>
+     * Call it after changing layers outside of {@link Property} or {@link PropertiesFile}, e.g. {@link System#setProperty(String, String)}.
+     */
+    public void refresh() {
+        view = new View(layers(), Property.version());
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private ConfigStack addLayer(String name, Supplier<Map<String, String>> values) {
+        synchronized (layers) {
+            layers.add(new Layer(name, values));
+        }
+        refresh();
+        return this;
+    }
+
+    private List<Layer> layers() {
+        synchronized (layers) {
+            return List.copyOf(layers);
+        }
+    }
+
+    private View view() {
+        View view = this.view;
+        if (view.version != Property.version()) {
+            view = new View(layers(), Property.version());
+            this.view = view;
+        }
+        return view;
+    }
+
+    //===============================================================================//
+
+    /**
+     * Where the value of a property comes from.
+     *
+     * @param key      The name of property.
+     * @param value    The effective value of property.
+     * @param layer    The name of layer providing the value, e.g. {@code system}, {@code environment},
+     *                 {@code file:src/test/resources/local.properties}, {@code defaults}.
+     * @param shadowed The names of lower layers that also have the property but were overridden.
+     */
+    public record Provenance(String key, String value, String layer, List<String> shadowed) { /**/ }
+
+    private record Layer(String name, Supplier<Map<String, String>> values) { /**/ }
+
+    private static final class View {
+        private final long version;
+        private final Map<String, Provenance> values;
+        private final Map<String, String> flat;
+        private final ConversionCache conversions;
+
+        private View(List<Layer> layers, long version) {
+            Map<String, Provenance> values = new HashMap<>();
+            Map<String, List<String>> shadowed = new HashMap<>();
+
+            for (Layer layer : layers) {
+                layer.values().get().forEach((key, value) -> {
+                    if (values.containsKey(key)) {
+                        shadowed.computeIfAbsent(key, k -> new ArrayList<>()).add(layer.name());
+                    } else {
+                        values.put(key, new Provenance(key, value, layer.name(), List.of()));
+                    }
+                });
+            }
+            shadowed.forEach((key, names) -> {
+                Provenance provenance = values.get(key);
+                values.put(key, new Provenance(key, provenance.value(), provenance.layer(), List.copyOf(names)));
+            });
+
+            Map<String, String> flat = new HashMap<>();
+            values.forEach((key, provenance) -> flat.put(key, provenance.value()));
+
+            this.version = version;
+            this.values = Map.copyOf(values);
+            this.flat = Map.copyOf(flat);
+            this.conversions = new ConversionCache();
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.github.ngoanh2n;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of decoded resource contents, bounded by {@code ngoanh2n.contentCacheSize} bytes (default 32 MiB).<br>
+ * Entries are kept in LRU order. When the cache is full, a new entry is admitted only if it was requested
+ * more often than every entry it would evict, as estimated by a count-min sketch (TinyLFU admission).
+ * So a scan over many files read once does not flush files read again and again.<br><br>
+ *
+ * Entries of files are checked against the size and last modified time of the file on every hit.
+ * The {@link Stamp} is taken before the file is read, so a file changed while being read is not cached as unchanged.
+ * Entries of jars are not checked, jars do not change while loaded.
+ *
+ * @author ngoanh2n
+ * @since 2024
+ */
+final class ContentCache {
+    private static final BooleanProperty enabled = new BooleanProperty("ngoanh2n.contentCache");
+    private static final LongProperty maxWeight = new LongProperty("ngoanh2n.contentCacheSize", 32L << 20);
+    private static final LinkedHashMap<Key, Value> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private static final FrequencySketch sketch = new FrequencySketch(1 << 12);
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong evictions = new AtomicLong();
+    private static long weight;
+
+    private ContentCache() { /**/ }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Whether the cache is enabled by {@code ngoanh2n.contentCache=true}.
+     *
+     * @return Indicate to cache contents.
+     */
+    static boolean isEnabled() {
+        return enabled.getAsBoolean();
+    }
+
+    /**
+     * Get the stamp to validate entries of a file against. Take it before reading the file.
+     *
+     * @param file The file of resource; {@code null} for a jar entry.
+     * @return The {@link Stamp}; {@code null} if the attributes of file cannot be read.
+     */
+    @Nullable
+    static Stamp stamp(@Nullable Path file) {
+        return file == null ? Stamp.NONE : Stamp.of(file);
+    }
+
+    /**
+     * Get a cached content.
+     *
+     * @param source  The file path or URL of resource.
+     * @param charset The charset the content was decoded with.
+     * @param stamp   The current {@link #stamp(Path) stamp} of resource.
+     * @return The content; {@code null} if not cached or the file has changed.
+     */
+    @Nullable
+    static String get(String source, Charset charset, @Nullable Stamp stamp) {
+        Key key = new Key(source, charset);
+        synchronized (entries) {
+            sketch.increment(key);
+            Value value = entries.get(key);
+            if (value != null && value.stamp.equals(stamp)) {
+                hits.incrementAndGet();
+                return value.content;
+            }
+            if (value != null) {
+                remove(key);
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Cache a content, if admitted. Entries are evicted only if the content is admitted.
+     *
+     * @param source  The file path or URL of resource.
+     * @param charset The charset the content was decoded with.
+     * @param stamp   The {@link #stamp(Path) stamp} of resource, taken before reading it.
+     * @param content The content to cache.
+     */
+    static void put(String source, Charset charset, @Nullable Stamp stamp, String content) {
+        if (stamp == null) {
+            return;
+        }
+        Key key = new Key(source, charset);
+        Value value = new Value(content, stamp, 2L * content.length() + 64);
+        long max = maxWeight.getAsLong();
+
+        synchronized (entries) {
+            if (value.weight > max) {
+                return;
+            }
+            Value existing = entries.get(key);
+            long freed = existing == null ? 0 : existing.weight;
+            int frequency = sketch.frequency(key);
+            List<Key> victims = new ArrayList<>();
+            Iterator<Map.Entry<Key, Value>> iterator = entries.entrySet().iterator();
+
+            while (weight - freed + value.weight > max && iterator.hasNext()) {
+                Map.Entry<Key, Value> victim = iterator.next();
+                if (victim.getKey().equals(key)) {
+                    continue;
+                }
+                if (sketch.frequency(victim.getKey()) >= frequency) {
+                    return;
+                }
+                victims.add(victim.getKey());
+                freed += victim.getValue().weight;
+            }
+            for (Key victim : victims) {
+                remove(victim);
+                evictions.incrementAndGet();
+            }
+            remove(key);
+            entries.put(key, value);
+            weight += value.weight;
+        }
+    }
+
+    /**
+     * Drop all entries and reset counters.
+     */
+    static void clear() {
+        synchronized (entries) {
+            entries.clear();
+            sketch.clear();
+            weight = 0;
+        }
+        hits.set(0);
+        misses.set(0);
+        evictions.set(0);
+    }
+
+    /**
+     * Get counters of the cache.
+     *
+     * @return The {@link Resources.CacheStats}.
+     */
+    static Resources.CacheStats stats() {
+        synchronized (entries) {
+            return new Resources.CacheStats(hits.get(), misses.get(), evictions.get(), entries.size(), weight);
+        }
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private static void remove(Key key) {
+        Value removed = entries.remove(key);
+        if (removed != null) {
+            weight -= removed.weight;
+        }
+    }
+
+    //===============================================================================//
+
+    private record Key(String source, Charset charset) { /**/ }
+
+    private record Value(String content, Stamp stamp, long weight) { /**/ }
+
+    /**
+     * Size and last modified time of a file, to detect changes.
+     */
+    record Stamp(long size, long lastModified) {
+        private static final Stamp NONE = new Stamp(-1, -1);
+
+        @Nullable
+        private static Stamp of(Path file) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                return new Stamp(attributes.size(), attributes.lastModifiedTime().toMillis());
+            } catch (IOException ignored) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Count-min sketch of counters capped at 15, halved after every {@code 10 * width} increments
+     * so that old popularity fades.
+     */
+    private static final class FrequencySketch {
+        private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+        private final byte[][] counters;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        private FrequencySketch(int width) {
+            this.counters = new byte[SEEDS.length][width];
+            this.mask = width - 1;
+            this.sampleSize = 10 * width;
+        }
+
+        private void increment(Object key) {
+            int hash = key.hashCode();
+            for (int i = 0; i < SEEDS.length; i++) {
+                int index = indexOf(hash, i);
+                if (counters[i][index] < 15) {
+                    counters[i][index]++;
+                }
+            }
+            if (++additions >= sampleSize) {
+                for (byte[] row : counters) {
+                    for (int j = 0; j < row.length; j++) {
+                        row[j] >>= 1;
+                    }
+                }
+                additions /= 2;
+            }
+        }
+
+        private int frequency(Object key) {
+            int hash = key.hashCode();
+            int frequency = 15;
+            for (int i = 0; i < SEEDS.length; i++) {
+                frequency = Math.min(frequency, counters[i][indexOf(hash, i)]);
+            }
+            return frequency;
+        }
+
+        private void clear() {
+            for (byte[] row : counters) {
+                Arrays.fill(row, (byte) 0);
+            }
+            additions = 0;
+        }
+
+        private int indexOf(int hash, int row) {
+            int h = (hash ^ SEEDS[row]) * 0x45D9F3B;
+            return (h ^ (h >>> 16)) & mask;
+        }
+    }
+}
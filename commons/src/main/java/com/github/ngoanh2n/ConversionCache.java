@@ -0,0 +1,63 @@
+package com.github.ngoanh2n;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Memoize typed values converted from a fixed set of String values.<br>
+ * The memo is dropped whenever the {@link Property#generation() Property generation} changes.
+ *
+ * @author ngoanh2n
+ * @since 2024
+ */
+final class ConversionCache {
+    private static final Object NULL = new Object();
+    private volatile Conversions conversions;
+
+    ConversionCache() {
+        this.conversions = new Conversions(Property.generation());
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T get(Class<T> type, String name, String value) {
+        if (type == String.class) {
+            return (T) value;
+        }
+        Conversions conversions = this.conversions;
+        long generation = Property.generation();
+
+        if (conversions.generation != generation) {
+            conversions = new Conversions(generation);
+            this.conversions = conversions;
+        }
+        Object converted = conversions.get(type, name, value);
+        return converted == NULL ? null : (T) converted;
+    }
+
+    //===============================================================================//
+
+    private static final class Conversions {
+        private final long generation;
+        private final Map<Class<?>, Map<String, Object>> values;
+
+        private Conversions(long generation) {
+            this.generation = generation;
+            this.values = new ConcurrentHashMap<>();
+        }
+
+        private Object get(Class<?> type, String name, String value) {
+            Map<String, Object> converted = values.get(type);
+            if (converted == null) {
+                converted = values.computeIfAbsent(type, t -> new ConcurrentHashMap<>());
+            }
+            Object result = converted.get(name);
+
+            if (result == null) {
+                result = Converters.convert(type, value);
+                result = (result == null) ? NULL : result;
+                converted.putIfAbsent(name, result);
+            }
+            return result;
+        }
+    }
+}
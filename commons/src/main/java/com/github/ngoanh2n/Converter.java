@@ -0,0 +1,26 @@
+package com.github.ngoanh2n;
+
+/**
+ * Convert a {@link String} value to an object of a specific type.<br>
+ * Converters are looked up by {@link Converters#find(Class)} and can be registered by {@link Converters#register(Class, Converter)}.<br><br>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/commons">ngoanh2n/commons</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/commons">com.github.ngoanh2n:commons</a></em></li>
+ * </ul>
+ *
+ * @param <T> The type of target object.
+ * @author ngoanh2n
+ * @since 2024
+ */
+@FunctionalInterface
+public interface Converter<T> {
+    /**
+     * Convert String value to the target object.
+     *
+     * @param value String value to convert.
+     * @return The target object.
+     */
+    T convert(String value);
+}
@@ -0,0 +1,32 @@
+package com.github.ngoanh2n;
+
+/**
+ * SPI to register custom {@link Converter}s.<br>
+ * Implementations are loaded by {@link java.util.ServiceLoader}, declare them in
+ * {@code META-INF/services/com.github.ngoanh2n.ConverterProvider}.
+ * <pre>{@code
+ *      public class MyConverterProvider implements ConverterProvider {
+ *          @Override
+ *          public void register(Converters converters) {
+ *              converters.add(Money.class, Money::parse);
+ *          }
+ *      }
+ * }</pre>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/commons">ngoanh2n/commons</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/commons">com.github.ngoanh2n:commons</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2024
+ */
+public interface ConverterProvider {
+    /**
+     * Register {@link Converter}s to the registry.
+     *
+     * @param converters The registry of {@link Converter}s.
+     */
+    void register(Converters converters);
+}
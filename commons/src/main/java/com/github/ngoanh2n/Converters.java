@@ -0,0 +1,259 @@
+package com.github.ngoanh2n;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.io.File;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Registry of {@link Converter}s keyed by target type.<br><br>
+ *
+ * <b>Built-in</b>
+ * <ul>
+ *     <li>{@link String}, {@link Boolean}, {@link Byte}, {@link Short}, {@link Integer}, {@link Long},
+ *     {@link Float}, {@link Double}, {@link Character} and their primitive types</li>
+ *     <li>{@link BigInteger}, {@link BigDecimal}</li>
+ *     <li>{@link URL}, {@link URI}, {@link File}, {@link Path}, {@link Charset}, {@link Locale}, {@link Pattern}</li>
+ *     <li>{@link Duration}: ISO-8601 ({@code PT30S}), number with unit ({@code 500ms, 30s, 5m, 2h, 1d}), or milliseconds ({@code 500})</li>
+ *     <li>{@link LocalDate}, {@link LocalTime}, {@link LocalDateTime} in ISO-8601</li>
+ *     <li>{@link List}, {@link Set} of comma separated {@link String}s</li>
+ *     <li>Arrays of any supported type from comma separated values, e.g. {@code int[]}, {@code String[]}</li>
+ *     <li>Enums by constant name</li>
+ * </ul>
+ *
+ * <b>Custom</b>
+ * <ul>
+ *     <li>{@code Converters.register(Money.class, Money::parse)}</li>
+ *     <li>Or implement {@link ConverterProvider} as a service</li>
+ * </ul>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/commons">ngoanh2n/commons</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/commons">com.github.ngoanh2n:commons</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2024
+ */
+@ParametersAreNonnullByDefault
+public final class Converters {
+    private static final Logger log = LoggerFactory.getLogger(Converters.class);
+    private static final Converters converters = new Converters();
+    private final Map<Class<?>, Converter<?>> registry;
+
+    static {
+        // After the static instance is assigned, providers may call register() and find()
+        converters.addProviders();
+    }
+
+    private Converters() {
+        this.registry = new ConcurrentHashMap<>();
+        this.addBuiltIns();
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Register a {@link Converter} for a type. It replaces the current {@link Converter} of the type.
+     *
+     * @param type      The Class object of target type.
+     * @param converter The {@link Converter} to convert String value to target type.
+     * @param <T>       The type of target object.
+     */
+    public static <T> void register(Class<T> type, Converter<? extends T> converter) {
+        converters.add(type, converter);
+        Property.invalidateAll();
+    }
+
+    /**
+     * Find the {@link Converter} for a type.
+     *
+     * @param type The Class object of target type.
+     * @param <T>  The type of target object.
+     * @return The {@link Converter} if the type is supported; {@link RuntimeError} otherwise.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Converter<T> find(Class<T> type) {
+        Converter<T> converter = (Converter<T>) converters.registry.get(type);
+        if (converter == null) {
+            converter = converters.derive(type);
+            converters.registry.putIfAbsent(type, converter);
+        }
+        return converter;
+    }
+
+    /**
+     * Convert String value to a specific object.
+     *
+     * @param type  The Class object which to return an object.
+     * @param value String value to convert.
+     * @param <T>   The type of target object.
+     * @return The target object.
+     */
+    public static <T> T convert(Class<T> type, String value) {
+        return find(type).convert(value);
+    }
+
+    /**
+     * Add a {@link Converter} for a type to this registry.
+     *
+     * @param type      The Class object of target type.
+     * @param converter The {@link Converter} to convert String value to target type.
+     * @param <T>       The type of target object.
+     */
+    public <T> void add(Class<T> type, Converter<? extends T> converter) {
+        registry.put(type, converter);
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private void addBuiltIns() {
+        add(String.class, value -> value);
+        add(Boolean.class, Boolean::valueOf);
+        add(Byte.class, Byte::valueOf);
+        add(Short.class, Short::valueOf);
+        add(Integer.class, Integer::valueOf);
+        add(Long.class, Long::valueOf);
+        add(Float.class, Float::valueOf);
+        add(Double.class, Double::valueOf);
+        add(Character.class, Converters::toCharacter);
+        add(boolean.class, Boolean::valueOf);
+        add(byte.class, Byte::valueOf);
+        add(short.class, Short::valueOf);
+        add(int.class, Integer::valueOf);
+        add(long.class, Long::valueOf);
+        add(float.class, Float::valueOf);
+        add(double.class, Double::valueOf);
+        add(char.class, Converters::toCharacter);
+        add(BigInteger.class, BigInteger::new);
+        add(BigDecimal.class, BigDecimal::new);
+        add(URL.class, Converters::toURL);
+        add(URI.class, URI::create);
+        add(File.class, File::new);
+        add(Path.class, Paths::get);
+        add(Charset.class, Charset::forName);
+        add(Locale.class, Locale::forLanguageTag);
+        add(Pattern.class, Pattern::compile);
+        add(Duration.class, Converters::toDuration);
+        add(LocalDate.class, LocalDate::parse);
+        add(LocalTime.class, LocalTime::parse);
+        add(LocalDateTime.class, LocalDateTime::parse);
+        add(List.class, value -> List.copyOf(split(value)));
+        add(Set.class, value -> Collections.unmodifiableSet(new LinkedHashSet<>(split(value))));
+        add(int[].class, value -> split(value).stream().mapToInt(Integer::parseInt).toArray());
+        add(long[].class, value -> split(value).stream().mapToLong(Long::parseLong).toArray());
+        add(double[].class, value -> split(value).stream().mapToDouble(Double::parseDouble).toArray());
+    }
+
+    private void addProviders() {
+        Iterator<ConverterProvider> providers = ServiceLoader.load(ConverterProvider.class).iterator();
+        while (true) {
+            try {
+                if (!providers.hasNext()) {
+                    break;
+                }
+                ConverterProvider provider = providers.next();
+                log.debug("Register converters from {}", provider.getClass().getName());
+                provider.register(this);
+            } catch (ServiceConfigurationError | RuntimeException e) {
+                log.error("Skip converter provider: {}", e.getMessage());
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <T> Converter<T> derive(Class<T> type) {
+        if (type.isEnum()) {
+            return value -> (T) Commons.buildEnum((Class) type, value).orElse(null);
+        }
+        if (type.isArray()) {
+            Class<?> componentType = type.getComponentType();
+            Converter<?> componentConverter = find(componentType);
+
+            return value -> {
+                List<String> values = split(value);
+                Object array = Array.newInstance(componentType, values.size());
+                for (int i = 0; i < values.size(); i++) {
+                    Array.set(array, i, componentConverter.convert(values.get(i)));
+                }
+                return (T) array;
+            };
+        }
+        throw new RuntimeError("Type " + type.getTypeName() + " cannot be parsed");
+    }
+
+    private static List<String> split(String value) {
+        List<String> values = new ArrayList<>();
+        if (!value.isBlank()) {
+            for (String item : value.split(",")) {
+                values.add(item.trim());
+            }
+        }
+        return values;
+    }
+
+    private static Character toCharacter(String value) {
+        if (value.length() != 1) {
+            throw new RuntimeError("Value [" + value + "] cannot be parsed as Character");
+        }
+        return value.charAt(0);
+    }
+
+    private static URL toURL(String value) {
+        try {
+            return new URL(value);
+        } catch (Exception e) {
+            throw new RuntimeError(e);
+        }
+    }
+
+    private static Duration toDuration(String value) {
+        String duration = value.trim().toLowerCase(Locale.ROOT);
+        if (duration.isEmpty()) {
+            throw new RuntimeError(String.format("Invalid duration [%s]: value is empty", value));
+        }
+        try {
+            return parseDuration(value, duration);
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new RuntimeError(String.format("Invalid duration [%s]", value), e);
+        }
+    }
+
+    private static Duration parseDuration(String value, String duration) {
+        if (duration.startsWith("p") || duration.startsWith("-p")) {
+            return Duration.parse(value.trim());
+        }
+        if (duration.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(duration.substring(0, duration.length() - 2).trim()));
+        }
+
+        long amount;
+        String number = duration.substring(0, duration.length() - 1).trim();
+        switch (duration.charAt(duration.length() - 1)) {
+            case 's' -> amount = Duration.ofSeconds(Long.parseLong(number)).toMillis();
+            case 'm' -> amount = Duration.ofMinutes(Long.parseLong(number)).toMillis();
+            case 'h' -> amount = Duration.ofHours(Long.parseLong(number)).toMillis();
+            case 'd' -> amount = Duration.ofDays(Long.parseLong(number)).toMillis();
+            default -> amount = Long.parseLong(duration);
+        }
+        return Duration.ofMillis(amount);
+    }
+}
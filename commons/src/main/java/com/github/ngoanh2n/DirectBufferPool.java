@@ -0,0 +1,100 @@
+package com.github.ngoanh2n;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of direct {@link ByteBuffer}s in power-of-two size classes.<br>
+ * Direct buffers are expensive to allocate and are freed only by GC, so released buffers are kept for reuse,
+ * up to {@code ngoanh2n.directBufferPoolSize} bytes in total (default 64 MiB).
+ * Pooled buffers are tracked by identity, so releasing the same buffer twice pools it once.
+ *
+ * @author ngoanh2n
+ * @since 2024
+ */
+final class DirectBufferPool {
+    private static final int MIN_SHIFT = 12;
+    private static final int MAX_SHIFT = 30;
+    private static final LongProperty maxPooledBytes = new LongProperty("ngoanh2n.directBufferPoolSize", 64L << 20);
+    private static final AtomicLong pooledBytes = new AtomicLong();
+    private static final Set<ByteBuffer> pooled = Collections.newSetFromMap(new IdentityHashMap<>());
+    private static final List<Queue<ByteBuffer>> pools = createPools();
+
+    private DirectBufferPool() { /**/ }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Get a direct buffer with at least the given capacity. Its position is 0 and its limit is {@code size}.
+     *
+     * @param size The number of bytes needed.
+     * @return The direct {@link ByteBuffer}.
+     */
+    static ByteBuffer acquire(int size) {
+        int shift = shiftOf(size);
+        if (shift > MAX_SHIFT) {
+            return ByteBuffer.allocateDirect(size);
+        }
+        ByteBuffer buffer = pools.get(shift - MIN_SHIFT).poll();
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(1 << shift);
+        } else {
+            synchronized (pooled) {
+                pooled.remove(buffer);
+            }
+            pooledBytes.addAndGet(-buffer.capacity());
+        }
+        buffer.clear().limit(size);
+        return buffer;
+    }
+
+    /**
+     * Give a buffer back to the pool.<br>
+     * Any direct, writable buffer with a power-of-two capacity of the pooled size classes is kept, other buffers are ignored.
+     * A buffer that is already in the pool is ignored too.
+     *
+     * @param buffer The buffer to release, it must not be used anymore.
+     */
+    static void release(ByteBuffer buffer) {
+        int capacity = buffer.capacity();
+        if (!buffer.isDirect() || buffer.isReadOnly() || Integer.bitCount(capacity) != 1) {
+            return;
+        }
+        int shift = Integer.numberOfTrailingZeros(capacity);
+        if (shift < MIN_SHIFT || shift > MAX_SHIFT) {
+            return;
+        }
+        synchronized (pooled) {
+            if (!pooled.add(buffer)) {
+                return;
+            }
+        }
+        if (pooledBytes.addAndGet(capacity) > maxPooledBytes.getAsLong()) {
+            pooledBytes.addAndGet(-capacity);
+            synchronized (pooled) {
+                pooled.remove(buffer);
+            }
+            return;
+        }
+        pools.get(shift - MIN_SHIFT).offer(buffer);
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private static List<Queue<ByteBuffer>> createPools() {
+        List<Queue<ByteBuffer>> result = new ArrayList<>();
+        for (int i = MIN_SHIFT; i <= MAX_SHIFT; i++) {
+            result.add(new ConcurrentLinkedQueue<>());
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static int shiftOf(int size) {
+        if (size <= (1 << MIN_SHIFT)) {
+            return MIN_SHIFT;
+        }
+        return 32 - Integer.numberOfLeadingZeros(size - 1);
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.ngoanh2n;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Represent a JVM system property of double, e.g. ratios and thresholds.<br>
+ * {@link #getAsDouble()} parses the value once and returns the cached primitive
+ * until the JVM system property changes, without boxing.
+ * It also works with {@link PropertiesFile#getProperty(DoubleProperty)}.<br><br>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/commons">ngoanh2n/commons</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/commons">com.github.ngoanh2n:commons</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2024
+ */
+@ParametersAreNonnullByDefault
+public class DoubleProperty extends Property<Double> {
+    private final double defaultAsDouble;
+    private final ParseCache cache = new ParseCache();
+
+    /**
+     * Construct a new {@link DoubleProperty}.
+     *
+     * @param name The name of the JVM system property.
+     */
+    public DoubleProperty(String name) {
+        super(name, Double.class);
+        this.defaultAsDouble = 0.0;
+    }
+
+    /**
+     * Construct a new {@link DoubleProperty}.
+     *
+     * @param name         The name of the JVM system property.
+     * @param defaultValue The default value of the JVM system property.
+     */
+    public DoubleProperty(String name, double defaultValue) {
+        super(name, Double.class, defaultValue);
+        this.defaultAsDouble = defaultValue;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Get the value of the JVM system property as {@code double}.
+     *
+     * @return The JVM system property value; the default value if the JVM system property is absent.
+     */
+    public double getAsDouble() {
+        return parse(getResolvedSystemValue());
+    }
+
+    /**
+     * Get the default value of the JVM system property as {@code double}.
+     *
+     * @return The default value; {@code 0.0} if no default value.
+     */
+    public double getDefaultAsDouble() {
+        return defaultAsDouble;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Parse a value with placeholders already resolved. The last parsed value is cached until the value changes.
+     *
+     * @param raw The resolved value.
+     * @return The parsed value; the default value if the value is {@code null} or {@code "null"}.
+     */
+    double parse(@Nullable String raw) {
+        if (raw == null || raw.equals("null")) {
+            return defaultAsDouble;
+        }
+        return Double.longBitsToDouble(cache.get(raw, value -> Double.doubleToRawLongBits(Double.parseDouble(value))));
+    }
+}
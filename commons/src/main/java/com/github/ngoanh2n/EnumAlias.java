@@ -0,0 +1,37 @@
+package com.github.ngoanh2n;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Provide alternative names for an enum constant, used by {@link Commons#buildEnum(Class, String)}.
+ * <pre>{@code
+ *      public enum Browser {
+ *          @EnumAlias({"gc", "google-chrome"})
+ *          CHROME,
+ *          @EnumAlias("ff")
+ *          FIREFOX
+ *      }
+ * }</pre>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/commons">ngoanh2n/commons</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/commons">com.github.ngoanh2n:commons</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2024
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface EnumAlias {
+    /**
+     * The alternative names of the enum constant.
+     *
+     * @return The alternative names.
+     */
+    String[] value();
+}
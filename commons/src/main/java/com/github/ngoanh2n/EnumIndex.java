@@ -0,0 +1,67 @@
+package com.github.ngoanh2n;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Index of enum constants by name and {@link EnumAlias alias}, built once per enum class.
+ *
+ * @author ngoanh2n
+ * @since 2024
+ */
+final class EnumIndex {
+    private static final ClassValue<EnumIndex> indexes = new ClassValue<>() {
+        @Override
+        protected EnumIndex computeValue(Class<?> type) {
+            return new EnumIndex(type);
+        }
+    };
+    private final Map<String, Object> constants;
+    private final Map<String, Object> foldedConstants;
+
+    private EnumIndex(Class<?> type) {
+        Map<String, Object> constants = new HashMap<>();
+        Map<String, Object> aliases = new HashMap<>();
+        Object[] enumConstants = type.isEnum() ? type.getEnumConstants() : new Object[0];
+
+        for (Object constant : enumConstants) {
+            String name = ((Enum<?>) constant).name();
+            constants.put(name, constant);
+
+            try {
+                EnumAlias alias = type.getField(name).getAnnotation(EnumAlias.class);
+                if (alias != null) {
+                    for (String value : alias.value()) {
+                        aliases.putIfAbsent(value, constant);
+                    }
+                }
+            } catch (NoSuchFieldException ignored) {
+                // Enum constants are always public fields
+            }
+        }
+        aliases.forEach(constants::putIfAbsent);
+
+        Map<String, Object> foldedConstants = new HashMap<>();
+        constants.forEach((name, constant) -> foldedConstants.putIfAbsent(fold(name), constant));
+
+        this.constants = Map.copyOf(constants);
+        this.foldedConstants = Map.copyOf(foldedConstants);
+    }
+
+    static EnumIndex of(Class<?> type) {
+        return indexes.get(type);
+    }
+
+    Object get(String name, boolean ignoreCase) {
+        Object constant = constants.get(name);
+        if (constant == null && ignoreCase) {
+            constant = foldedConstants.get(fold(name));
+        }
+        return constant;
+    }
+
+    private static String fold(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
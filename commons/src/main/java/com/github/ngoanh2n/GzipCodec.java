@@ -0,0 +1,189 @@
+package com.github.ngoanh2n;
+
+import java.io.*;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Gzip {@link ResourceCodec} with pooled {@link Inflater}s.<br>
+ * {@link java.util.zip.GZIPInputStream} allocates a native {@link Inflater} per stream and frees it on close.
+ * Here inflaters are reset and reused, so reading many small compressed resources does not churn native memory.
+ * Concatenated gzip members are read as one stream, and the CRC and size of each member are verified.
+ *
+ * @author ngoanh2n
+ * @since 2024
+ */
+final class GzipCodec implements ResourceCodec {
+    private static final int MAX_POOLED = 16;
+    private static final int BUFFER_SIZE = 8192;
+    private static final Queue<Inflater> inflaters = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger pooled = new AtomicInteger();
+
+    @Override
+    public String getExtension() {
+        return ".gz";
+    }
+
+    @Override
+    public InputStream decode(InputStream compressed) throws IOException {
+        return new GzipInputStream(compressed);
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private static Inflater acquire() {
+        Inflater inflater = inflaters.poll();
+        if (inflater == null) {
+            return new Inflater(true);
+        }
+        pooled.decrementAndGet();
+        return inflater;
+    }
+
+    private static void release(Inflater inflater) {
+        inflater.reset();
+        if (pooled.incrementAndGet() <= MAX_POOLED) {
+            inflaters.offer(inflater);
+        } else {
+            pooled.decrementAndGet();
+            inflater.end();
+        }
+    }
+
+    //===============================================================================//
+
+    private static final class GzipInputStream extends InputStream {
+        private final PushbackInputStream in;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private final CRC32 crc = new CRC32();
+        private Inflater inflater;
+        private int inputLength;
+        private boolean eof;
+
+        private GzipInputStream(InputStream compressed) throws IOException {
+            this.in = new PushbackInputStream(compressed, BUFFER_SIZE);
+            this.inflater = acquire();
+            try {
+                if (!readHeader()) {
+                    throw new EOFException("Empty gzip content");
+                }
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (inflater == null) {
+                throw new IOException("Stream closed");
+            }
+            if (len == 0) {
+                return 0;
+            }
+            try {
+                while (!eof) {
+                    int n = inflater.inflate(b, off, len);
+                    if (n > 0) {
+                        crc.update(b, off, n);
+                        return n;
+                    }
+                    if (inflater.finished()) {
+                        finishMember();
+                    } else if (inflater.needsDictionary()) {
+                        throw new ZipException("Unexpected preset dictionary");
+                    } else if (inflater.needsInput()) {
+                        int read = in.read(buffer, 0, buffer.length);
+                        if (read < 0) {
+                            throw new EOFException("Unexpected end of gzip content");
+                        }
+                        inflater.setInput(buffer, 0, read);
+                        inputLength = read;
+                    }
+                }
+                return -1;
+            } catch (DataFormatException e) {
+                throw new ZipException(e.getMessage());
+            }
+        }
+
+        @Override
+        public int available() throws IOException {
+            return eof ? 0 : 1;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (inflater != null) {
+                release(inflater);
+                inflater = null;
+                in.close();
+            }
+        }
+
+        private void finishMember() throws IOException {
+            int remaining = inflater.getRemaining();
+            if (remaining > 0) {
+                in.unread(buffer, inputLength - remaining, remaining);
+            }
+            DataInputStream data = new DataInputStream(in);
+            long expectedCrc = Integer.toUnsignedLong(Integer.reverseBytes(data.readInt()));
+            long expectedSize = Integer.toUnsignedLong(Integer.reverseBytes(data.readInt()));
+            if (expectedCrc != crc.getValue() || expectedSize != (inflater.getBytesWritten() & 0xFFFFFFFFL)) {
+                throw new ZipException("Corrupt gzip content");
+            }
+            inflater.reset();
+            crc.reset();
+            inputLength = 0;
+            eof = !readHeader();
+        }
+
+        private boolean readHeader() throws IOException {
+            int first = in.read();
+            if (first < 0) {
+                return false;
+            }
+            DataInputStream data = new DataInputStream(in);
+            int second = data.readUnsignedByte();
+            if (first != 0x1F || second != 0x8B) {
+                throw new ZipException("Not in gzip format");
+            }
+            if (data.readUnsignedByte() != 8) {
+                throw new ZipException("Unsupported compression method");
+            }
+            int flags = data.readUnsignedByte();
+            data.skipNBytes(6);
+            if ((flags & 4) != 0) {
+                int length = data.readUnsignedByte() | (data.readUnsignedByte() << 8);
+                data.skipNBytes(length);
+            }
+            if ((flags & 8) != 0) {
+                skipZeroTerminated(data);
+            }
+            if ((flags & 16) != 0) {
+                skipZeroTerminated(data);
+            }
+            if ((flags & 2) != 0) {
+                data.skipNBytes(2);
+            }
+            return true;
+        }
+
+        private static void skipZeroTerminated(DataInputStream data) throws IOException {
+            while (data.readUnsignedByte() != 0) {
+                // Skip until the terminating zero
+            }
+        }
+    }
+}
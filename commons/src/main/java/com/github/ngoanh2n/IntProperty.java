@@ -0,0 +1,81 @@
+package com.github.ngoanh2n;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Represent a JVM system property of int, e.g. timeouts and retry counts.<br>
+ * {@link #getAsInt()} parses the value once and returns the cached primitive
+ * until the JVM system property changes, without boxing.
+ * It also works with {@link PropertiesFile#getProperty(IntProperty)}.<br><br>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/commons">ngoanh2n/commons</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/commons">com.github.ngoanh2n:commons</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2024
+ */
+@ParametersAreNonnullByDefault
+public class IntProperty extends Property<Integer> {
+    private final int defaultAsInt;
+    private final ParseCache cache = new ParseCache();
+
+    /**
+     * Construct a new {@link IntProperty}.
+     *
+     * @param name The name of the JVM system property.
+     */
+    public IntProperty(String name) {
+        super(name, Integer.class);
+        this.defaultAsInt = 0;
+    }
+
+    /**
+     * Construct a new {@link IntProperty}.
+     *
+     * @param name         The name of the JVM system property.
+     * @param defaultValue The default value of the JVM system property.
+     */
+    public IntProperty(String name, int defaultValue) {
+        super(name, Integer.class, defaultValue);
+        this.defaultAsInt = defaultValue;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Get the value of the JVM system property as {@code int}.
+     *
+     * @return The JVM system property value; the default value if the JVM system property is absent.
+     */
+    public int getAsInt() {
+        return parse(getResolvedSystemValue());
+    }
+
+    /**
+     * Get the default value of the JVM system property as {@code int}.
+     *
+     * @return The default value; {@code 0} if no default value.
+     */
+    public int getDefaultAsInt() {
+        return defaultAsInt;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Parse a value with placeholders already resolved. The last parsed value is cached until the value changes.
+     *
+     * @param raw The resolved value.
+     * @return The parsed value; the default value if the value is {@code null} or {@code "null"}.
+     */
+    int parse(@Nullable String raw) {
+        if (raw == null || raw.equals("null")) {
+            return defaultAsInt;
+        }
+        return (int) cache.get(raw, Integer::parseInt);
+    }
+}
@@ -0,0 +1,174 @@
+package com.github.ngoanh2n;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * Resolve {@code ${name}} and {@code ${env:NAME}} placeholders.
+ * <ul>
+ *     <li>{@code ${name}}: JVM system property, or another property of the same source</li>
+ *     <li>{@code ${env:NAME}}: environment variable</li>
+ *     <li>Unresolvable placeholders are kept as they are</li>
+ *     <li>Circular references throw {@link RuntimeError}</li>
+ * </ul>
+ * Each property is resolved at most once per {@link Interpolator}, so the dependency graph is walked only once.
+ * {@link #resolveTracked(String)} also records the JVM system properties a value refers to,
+ * so a memoized result can be checked against them instead of being resolved again.
+ *
+ * @author ngoanh2n
+ * @since 2024
+ */
+final class Interpolator {
+    private static final String PREFIX = "${";
+    private static final String ENV = "env:";
+    private static final String[] NO_NAMES = new String[0];
+    private final UnaryOperator<String> source;
+    private final Map<String, String> resolved;
+    private final Set<String> resolving;
+    private final Map<String, String> dependencies;
+
+    private Interpolator(UnaryOperator<String> source, @Nullable Map<String, String> dependencies) {
+        this.source = source;
+        this.resolved = new HashMap<>();
+        this.resolving = new LinkedHashSet<>();
+        this.dependencies = dependencies;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Whether a value contains placeholders.
+     *
+     * @param value The value to check.
+     * @return Indicate the value contains placeholders.
+     */
+    static boolean hasPlaceholder(String value) {
+        return value.contains(PREFIX);
+    }
+
+    /**
+     * Resolve placeholders of a value against JVM system properties and environment variables,
+     * and record the JVM system properties it refers to.
+     *
+     * @param value The value to resolve.
+     * @return The {@link Resolution}.
+     */
+    static Resolution resolveTracked(String value) {
+        if (!hasPlaceholder(value)) {
+            return new Resolution(value, NO_NAMES, NO_NAMES);
+        }
+        Map<String, String> dependencies = new LinkedHashMap<>();
+        String resolved = new Interpolator(Interpolator::getSystemValue, dependencies).interpolate(null, value);
+        return new Resolution(resolved, dependencies.keySet().toArray(NO_NAMES), dependencies.values().toArray(NO_NAMES));
+    }
+
+    /**
+     * Resolve placeholders of all values. A placeholder refers to a JVM system property first, then to other values.
+     *
+     * @param values The values to resolve.
+     * @return The resolved values; the same {@link Map} if no value has placeholders.
+     */
+    static Map<String, String> resolve(Map<String, String> values) {
+        if (values.values().stream().noneMatch(Interpolator::hasPlaceholder)) {
+            return values;
+        }
+        Interpolator interpolator = new Interpolator(name -> {
+            String value = getSystemValue(name);
+            return value != null ? value : values.get(name);
+        }, null);
+
+        Map<String, String> result = new HashMap<>();
+        values.forEach((key, value) -> {
+            if (getSystemValue(key) == null) {
+                result.put(key, interpolator.resolveName(key));
+            } else {
+                result.put(key, interpolator.interpolate(null, value));
+            }
+        });
+        return Map.copyOf(result);
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private static String getSystemValue(String name) {
+        String value = System.getProperty(name);
+        return value == null || value.equals("null") ? null : value;
+    }
+
+    private String resolveName(String name) {
+        if (name.startsWith(ENV)) {
+            return System.getenv(name.substring(ENV.length()));
+        }
+        String value = resolved.get(name);
+        if (value == null) {
+            if (dependencies != null && !dependencies.containsKey(name)) {
+                dependencies.put(name, System.getProperty(name));
+            }
+            value = source.apply(name);
+            if (value != null) {
+                value = interpolate(name, value);
+                resolved.put(name, value);
+            }
+        }
+        return value;
+    }
+
+    private String interpolate(String name, String value) {
+        int start = value.indexOf(PREFIX);
+        if (start < 0) {
+            return value;
+        }
+        if (name != null && !resolving.add(name)) {
+            List<String> chain = new ArrayList<>(resolving);
+            chain = chain.subList(chain.indexOf(name), chain.size());
+            throw new RuntimeError("Circular placeholder reference: " + String.join(" -> ", chain) + " -> " + name);
+        }
+
+        StringBuilder sb = new StringBuilder(value.length() + 16);
+        int position = 0;
+
+        while (start >= 0) {
+            int end = value.indexOf('}', start + PREFIX.length());
+            if (end < 0) {
+                break;
+            }
+            String replacement = resolveName(value.substring(start + PREFIX.length(), end));
+            sb.append(value, position, start);
+            sb.append(replacement != null ? replacement : value.substring(start, end + 1));
+            position = end + 1;
+            start = value.indexOf(PREFIX, position);
+        }
+        sb.append(value, position, value.length());
+
+        if (name != null) {
+            resolving.remove(name);
+        }
+        return sb.toString();
+    }
+
+    //===============================================================================//
+
+    /**
+     * The result of {@link #resolveTracked(String)}.
+     *
+     * @param value The resolved value.
+     * @param names The names of JVM system properties the value refers to.
+     * @param raws  The raw values of these JVM system properties when resolving; {@code null} if absent.
+     */
+    record Resolution(String value, String[] names, String[] raws) {
+        /**
+         * Whether the JVM system properties the value refers to are unchanged, so the value is still valid.
+         *
+         * @return Indicate the resolved value is current.
+         */
+        boolean isCurrent() {
+            for (int i = 0; i < names.length; i++) {
+                if (!Objects.equals(System.getProperty(names[i]), raws[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.github.ngoanh2n;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Zip {@link FileSystem}s of jar files, opened once per jar and shared by reference counting.<br>
+ * A jar is opened by the first {@link #acquire(Path)} and closed when the last user {@link #release(FileSystem) releases} it.
+ * Paths returned by {@link #getPath(URL)} keep their jar open for the life of the JVM.
+ *
+ * @author ngoanh2n
+ * @since 2024
+ */
+final class JarFileSystems {
+    private static final Map<Path, Entry> entries = new HashMap<>();
+
+    private JarFileSystems() { /**/ }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Get the zip {@link FileSystem} of a jar, opening it if needed. Each call must be paired with {@link #release(FileSystem)}.
+     *
+     * @param jar The jar file.
+     * @return The zip {@link FileSystem}.
+     * @throws IOException if the jar cannot be opened.
+     */
+    static FileSystem acquire(Path jar) throws IOException {
+        Path key = jar.toAbsolutePath().normalize();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null || !entry.fileSystem.isOpen()) {
+                entry = new Entry(key, FileSystems.newFileSystem(key));
+                entries.put(key, entry);
+            }
+            entry.references++;
+            return entry.fileSystem;
+        }
+    }
+
+    /**
+     * Release a {@link FileSystem} got from {@link #acquire(Path)}. It is closed when no one uses it.
+     *
+     * @param fileSystem The {@link FileSystem} to release.
+     */
+    static void release(FileSystem fileSystem) {
+        synchronized (entries) {
+            for (Entry entry : entries.values()) {
+                if (entry.fileSystem == fileSystem) {
+                    if (--entry.references == 0) {
+                        entries.remove(entry.jar);
+                        close(fileSystem);
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the {@link Path} of a jar entry from its {@code jar:} {@link URL}.
+     *
+     * @param url The {@link URL}, e.g. {@code jar:file:/libs/foo.jar!/com/foo/File.json}.
+     * @return The {@link Path} inside the zip {@link FileSystem} of the jar.
+     * @throws IOException if the jar cannot be opened.
+     */
+    static Path getPath(URL url) throws IOException {
+        String spec = url.toString();
+        int separator = spec.indexOf("!/");
+        if (!spec.startsWith("jar:") || separator < 0) {
+            throw new IOException("Not a jar URL: " + spec);
+        }
+        Path jar = Paths.get(URI.create(spec.substring(4, separator)));
+        String entry = decodePath(spec.substring(separator + 1));
+
+        Path key = jar.toAbsolutePath().normalize();
+        FileSystem fileSystem;
+        synchronized (entries) {
+            Entry existing = entries.get(key);
+            if (existing != null && existing.pinned && existing.fileSystem.isOpen()) {
+                fileSystem = existing.fileSystem;
+            } else {
+                fileSystem = acquire(jar);
+                entries.get(key).pinned = true;
+            }
+        }
+        return fileSystem.getPath(entry);
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private static String decodePath(String path) {
+        try {
+            return new URI(path).getPath();
+        } catch (URISyntaxException ignored) {
+            // Not encoded, e.g. contains spaces
+            return path;
+        }
+    }
+
+    private static void close(FileSystem fileSystem) {
+        try {
+            fileSystem.close();
+        } catch (IOException ignored) {
+            // Nothing to do, the jar is not used anymore
+        }
+    }
+
+    //===============================================================================//
+
+    private static final class Entry {
+        private final Path jar;
+        private final FileSystem fileSystem;
+        private int references;
+        private boolean pinned;
+
+        private Entry(Path jar, FileSystem fileSystem) {
+            this.jar = jar;
+            this.fileSystem = fileSystem;
+        }
+    }
+}
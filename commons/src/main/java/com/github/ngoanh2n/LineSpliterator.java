@@ -0,0 +1,170 @@
+package com.github.ngoanh2n;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link Spliterator} of lines over a byte range of a file, read through memory-mapped windows.<br>
+ * It splits at a {@code \n} near the middle of its range, so parallel streams process parts of the file on different cores.
+ * Windows are mapped lazily, at most {@link #WINDOW_SIZE} bytes each, so files larger than 2 GiB are supported.<br><br>
+ *
+ * Lines end with {@code \n}, {@code \r} or {@code \r\n}, the same as {@link java.io.BufferedReader#readLine()}.
+ * Only charsets whose line terminators are single bytes that never occur inside other characters are supported.
+ *
+ * @author ngoanh2n
+ * @since 2024
+ */
+final class LineSpliterator implements Spliterator<String> {
+    private static final Set<Charset> SUPPORTED_CHARSETS = Set.of(StandardCharsets.UTF_8, StandardCharsets.US_ASCII, StandardCharsets.ISO_8859_1);
+    private static final int WINDOW_SIZE = 1 << 26;
+    private static final int MIN_SPLIT_SIZE = 1 << 16;
+    private final FileChannel channel;
+    private final Charset charset;
+    private final long fence;
+    private long position;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private byte[] line = new byte[128];
+
+    private LineSpliterator(FileChannel channel, Charset charset, long position, long fence) {
+        this.channel = channel;
+        this.charset = charset;
+        this.position = position;
+        this.fence = fence;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Whether lines of a charset can be split by this spliterator.
+     *
+     * @param charset The charset of file.
+     * @return Indicate the charset is supported.
+     */
+    static boolean supports(Charset charset) {
+        return SUPPORTED_CHARSETS.contains(charset);
+    }
+
+    /**
+     * Create a stream of lines of a file. The channel is closed when the stream is closed.
+     *
+     * @param channel The channel of file.
+     * @param charset The charset of file, see {@link #supports(Charset)}.
+     * @return The stream of lines.
+     * @throws IOException if the size of file cannot be read.
+     */
+    static Stream<String> stream(FileChannel channel, Charset charset) throws IOException {
+        LineSpliterator spliterator = new LineSpliterator(channel, charset, 0, channel.size());
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    @Override
+    public boolean tryAdvance(Consumer<? super String> action) {
+        if (position >= fence) {
+            return false;
+        }
+        long start = position;
+        long end = start;
+        byte b = 0;
+
+        while (end < fence && (b = byteAt(end)) != '\n' && b != '\r') {
+            end++;
+        }
+        position = end + 1;
+        if (b == '\r' && position < fence && byteAt(position) == '\n') {
+            position++;
+        }
+        action.accept(decode(start, end));
+        return true;
+    }
+
+    @Override
+    public Spliterator<String> trySplit() {
+        long size = fence - position;
+        if (size < MIN_SPLIT_SIZE) {
+            return null;
+        }
+        long split = position + size / 2;
+        while (split < fence && byteAt(split) != '\n') {
+            split++;
+        }
+        if (++split >= fence) {
+            return null;
+        }
+        LineSpliterator prefix = new LineSpliterator(channel, charset, position, split);
+        position = split;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - position;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private byte byteAt(long index) {
+        if (window == null || index < windowStart || index >= windowStart + window.limit()) {
+            windowStart = index;
+            window = map(index, Math.min(WINDOW_SIZE, fence - index));
+        }
+        return window.get((int) (index - windowStart));
+    }
+
+    private String decode(long start, long end) {
+        int length = Math.toIntExact(end - start);
+        if (line.length < length) {
+            line = new byte[Math.max(length, line.length * 2)];
+        }
+        if (start >= windowStart && end <= windowStart + window.limit()) {
+            window.get((int) (start - windowStart), line, 0, length);
+        } else {
+            read(start, length);
+        }
+        return new String(line, 0, length, charset);
+    }
+
+    private MappedByteBuffer map(long start, long size) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void read(long start, int length) {
+        ByteBuffer buffer = ByteBuffer.wrap(line, 0, length);
+        try {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of file");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
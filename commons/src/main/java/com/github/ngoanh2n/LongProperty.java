@@ -0,0 +1,81 @@
+package com.github.ngoanh2n;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Represent a JVM system property of long, e.g. sizes and durations in milliseconds.<br>
+ * {@link #getAsLong()} parses the value once and returns the cached primitive
+ * until the JVM system property changes, without boxing.
+ * It also works with {@link PropertiesFile#getProperty(LongProperty)}.<br><br>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/commons">ngoanh2n/commons</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/commons">com.github.ngoanh2n:commons</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2024
+ */
+@ParametersAreNonnullByDefault
+public class LongProperty extends Property<Long> {
+    private final long defaultAsLong;
+    private final ParseCache cache = new ParseCache();
+
+    /**
+     * Construct a new {@link LongProperty}.
+     *
+     * @param name The name of the JVM system property.
+     */
+    public LongProperty(String name) {
+        super(name, Long.class);
+        this.defaultAsLong = 0L;
+    }
+
+    /**
+     * Construct a new {@link LongProperty}.
+     *
+     * @param name         The name of the JVM system property.
+     * @param defaultValue The default value of the JVM system property.
+     */
+    public LongProperty(String name, long defaultValue) {
+        super(name, Long.class, defaultValue);
+        this.defaultAsLong = defaultValue;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Get the value of the JVM system property as {@code long}.
+     *
+     * @return The JVM system property value; the default value if the JVM system property is absent.
+     */
+    public long getAsLong() {
+        return parse(getResolvedSystemValue());
+    }
+
+    /**
+     * Get the default value of the JVM system property as {@code long}.
+     *
+     * @return The default value; {@code 0L} if no default value.
+     */
+    public long getDefaultAsLong() {
+        return defaultAsLong;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Parse a value with placeholders already resolved. The last parsed value is cached until the value changes.
+     *
+     * @param raw The resolved value.
+     * @return The parsed value; the default value if the value is {@code null} or {@code "null"}.
+     */
+    long parse(@Nullable String raw) {
+        if (raw == null || raw.equals("null")) {
+            return defaultAsLong;
+        }
+        return cache.get(raw, Long::parseLong);
+    }
+}
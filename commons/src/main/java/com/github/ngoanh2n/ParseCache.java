@@ -0,0 +1,34 @@
+package com.github.ngoanh2n;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Cache the last primitive value parsed from a String, encoded as {@code long} bits so it is never boxed.<br>
+ * Values are parsed as they are, placeholders must be resolved by the caller.
+ *
+ * @author ngoanh2n
+ * @since 2024
+ */
+final class ParseCache {
+    private volatile Parsed parsed;
+
+    /**
+     * Get the parsed value of a String, parse it if it is not cached.
+     *
+     * @param value  The resolved value, not {@code null}.
+     * @param parser The function to parse the value to {@code long} bits.
+     * @return The {@code long} bits of parsed value.
+     */
+    long get(String value, ToLongFunction<String> parser) {
+        Parsed parsed = this.parsed;
+
+        if (parsed != null && (parsed.value == value || parsed.value.equals(value))) {
+            return parsed.bits;
+        }
+        long bits = parser.applyAsLong(value);
+        this.parsed = new Parsed(value, bits);
+        return bits;
+    }
+
+    private record Parsed(String value, long bits) { /**/ }
+}
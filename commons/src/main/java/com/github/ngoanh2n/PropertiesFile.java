@@ -1,12 +1,29 @@
 package com.github.ngoanh2n;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Read properties file.<br><br>
  *
+ * Properties are held in an immutable snapshot, so lookups never lock.
+ * {@link #reload()} builds a new snapshot and swaps it in atomically.
+ * {@link #watch(Duration)} reloads it whenever the file changes.<br><br>
+ *
+ * Values may refer to other properties with {@code ${name}} and to environment variables with {@code ${env:NAME}}.
+ * A {@code ${name}} refers to the JVM system property first, then to the property in this file.
+ * Placeholders are resolved once when the file is loaded, and placeholders of JVM system properties are resolved once
+ * until the properties they refer to change, so reads cost the same as plain values.<br><br>
+ *
  * <em>Repository:</em>
  * <ul>
  *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/commons">ngoanh2n/commons</a></em></li>
@@ -18,8 +35,15 @@ import java.util.Properties;
  */
 @ParametersAreNonnullByDefault
 public class PropertiesFile {
+    private static final Logger log = LoggerFactory.getLogger(PropertiesFile.class);
     private final boolean assignToSystem;
-    private final Properties properties;
+    private final String resourceName;
+    private final File file;
+    private final Map<String, ResolveCache> resolvers = new ConcurrentHashMap<>();
+    private Map<String, String> assigned = Map.of();
+    private volatile int assignedCount;
+    private volatile long assignNanos;
+    private volatile Snapshot snapshot;
 
     /**
      * Construct a new {@link PropertiesFile} by a resource name.
@@ -38,7 +62,9 @@ public class PropertiesFile {
      */
     public PropertiesFile(String resourceName, boolean assignToSystem) {
         this.assignToSystem = assignToSystem;
-        this.properties = loadPropertiesFromResourceName(resourceName);
+        this.resourceName = resourceName;
+        this.file = null;
+        this.snapshot = newSnapshot(loadPropertiesFromResourceName(resourceName));
     }
 
     /**
@@ -58,7 +84,9 @@ public class PropertiesFile {
      */
     public PropertiesFile(File file, boolean assignToSystem) {
         this.assignToSystem = assignToSystem;
-        this.properties = loadPropertiesFromFile(file);
+        this.resourceName = null;
+        this.file = file;
+        this.snapshot = newSnapshot(loadPropertiesFromFile(file));
     }
 
     //-------------------------------------------------------------------------------//
@@ -70,8 +98,8 @@ public class PropertiesFile {
      * @param name The name of property.
      * @return The value of property as {@link String}.
      */
-    public synchronized String getProperty(String name) {
-        return getProperty(Property.ofString(name));
+    public String getProperty(String name) {
+        return getRawValue(name);
     }
 
     /**
@@ -82,67 +110,270 @@ public class PropertiesFile {
      * @param property The {@link Property} to refer.
      * @return The value of {@link Property}.
      */
-    public synchronized <T> T getProperty(Property<T> property) {
+    public <T> T getProperty(Property<T> property) {
         String name = property.getName();
         Class<T> type = property.getType();
-        T value = new Property<>(name, type).getValue();
+        T value = property.getSystemValue();
 
         if (value == null) {
             if (property.isReassigned()) {
                 return null;
             }
-            String valueInFile = properties.getProperty(name);
-            if (valueInFile == null) {
+            Snapshot snapshot = this.snapshot;
+            if (!snapshot.contains(name)) {
                 return property.getDefaultValue();
             } else {
-                return Commons.convertValue(type, valueInFile);
+                return snapshot.getValue(name, type);
             }
         }
         return value;
     }
 
     /**
-     * Get all properties in this file.
+     * Get the value of property by other property as {@code int}, without boxing.<br>
+     * Priority order: JVM System Property, Properties file, Default value.
      *
-     * @return All properties have been read.
+     * @param property The {@link IntProperty} to refer.
+     * @return The value of {@link IntProperty}.
+     */
+    public int getProperty(IntProperty property) {
+        return property.parse(getRawValue(property));
+    }
+
+    /**
+     * Get the value of property by other property as {@code long}, without boxing.<br>
+     * Priority order: JVM System Property, Properties file, Default value.
+     *
+     * @param property The {@link LongProperty} to refer.
+     * @return The value of {@link LongProperty}.
+     */
+    public long getProperty(LongProperty property) {
+        return property.parse(getRawValue(property));
+    }
+
+    /**
+     * Get the value of property by other property as {@code double}, without boxing.<br>
+     * Priority order: JVM System Property, Properties file, Default value.
+     *
+     * @param property The {@link DoubleProperty} to refer.
+     * @return The value of {@link DoubleProperty}.
+     */
+    public double getProperty(DoubleProperty property) {
+        return property.parse(getRawValue(property));
+    }
+
+    /**
+     * Get the value of property by other property as {@code boolean}, without boxing.<br>
+     * Priority order: JVM System Property, Properties file, Default value.
+     *
+     * @param property The {@link BooleanProperty} to refer.
+     * @return The value of {@link BooleanProperty}.
+     */
+    public boolean getProperty(BooleanProperty property) {
+        return property.parse(getRawValue(property));
+    }
+
+    /**
+     * Get all properties in this file.<br>
+     * The result is a copy: changing it doesn't change this file, use {@link #reload()} to read the file again.
+     *
+     * @return A copy of all properties have been read.
      */
-    public synchronized Properties getProperties() {
+    public Properties getProperties() {
+        Properties properties = new Properties();
+        properties.putAll(snapshot.properties);
         return properties;
     }
 
+    /**
+     * Read the properties file again and replace the current properties at once.<br>
+     * Readers see either the old or the new properties, never a partially loaded file.
+     * When assigning to system, properties this file assigned are updated, or cleared if they were removed from the file.
+     */
+    public void reload() {
+        Properties properties;
+        if (file != null) {
+            properties = loadPropertiesFromFile(file);
+        } else {
+            properties = loadPropertiesFromResourceName(resourceName);
+        }
+        snapshot = newSnapshot(properties);
+        Property.invalidateAll();
+    }
+
+    /**
+     * Watch the properties file and {@link #reload()} it in background whenever the file changes.
+     *
+     * @param debounce The quiet time to wait after the last change before reloading.
+     * @return The {@link PropertiesFileWatcher}, close it to stop watching.
+     */
+    public PropertiesFileWatcher watch(Duration debounce) {
+        File source = file;
+        if (source == null) {
+            source = Resources.getFile(resourceName);
+        }
+        return new PropertiesFileWatcher(this, source.toPath(), debounce);
+    }
+
+    /**
+     * Get the number of properties assigned to system in the last load, see {@link #PropertiesFile(File, boolean)}.<br>
+     * Properties already in system are not assigned, unless this file assigned them in an earlier load.
+     * Properties whose value in system is unchanged are not counted.
+     *
+     * @return The number of assigned properties; 0 if not assigning to system.
+     */
+    public int getAssignedCount() {
+        return assignedCount;
+    }
+
+    /**
+     * Get the time spent to assign properties to system in the last load.
+     *
+     * @return The assignment time; {@link Duration#ZERO} if not assigning to system.
+     */
+    public Duration getLastAssignTime() {
+        return Duration.ofNanos(assignNanos);
+    }
+
     //-------------------------------------------------------------------------------//
 
+    /**
+     * Get all properties in this file as an immutable {@link Map}.
+     *
+     * @return All properties have been read.
+     */
+    Map<String, String> getValues() {
+        return snapshot.values;
+    }
+
+    /**
+     * Get the source of this file, the file path or the resource name.
+     *
+     * @return The source of this file.
+     */
+    String getSource() {
+        return file != null ? Commons.getRelative(file).getPath() : resourceName;
+    }
+
+    private String getRawValue(String name) {
+        String valueInSystem = System.getProperty(name);
+        if (valueInSystem == null || valueInSystem.equals("null")) {
+            return snapshot.values.get(name);
+        }
+        if (!Interpolator.hasPlaceholder(valueInSystem)) {
+            return valueInSystem;
+        }
+        ResolveCache resolver = resolvers.get(name);
+        if (resolver == null) {
+            resolver = resolvers.computeIfAbsent(name, n -> new ResolveCache());
+        }
+        return resolver.resolve(valueInSystem);
+    }
+
+    private String getRawValue(Property<?> property) {
+        String valueInSystem = property.getResolvedSystemValue();
+        return valueInSystem != null ? valueInSystem : snapshot.values.get(property.getName());
+    }
+
     private Properties loadPropertiesFromResourceName(String name) {
-        Properties properties;
-        try {
-            File file = Resources.getFile(name);
-            properties = loadPropertiesFromFile(file);
-        } catch (RuntimeError ignored) {
-            properties = new Properties();
+        ResourceResolver.Resolution resolution = ResourceResolver.resolve(name);
+        if (resolution.insideJar() || resolution.file() == null) {
+            return new Properties();
         }
-        assignPropertiesToSystem(properties);
-        return properties;
+        return loadPropertiesFromFile(resolution.file());
     }
 
     private Properties loadPropertiesFromFile(File file) {
+        if (!file.isFile()) {
+            return new Properties();
+        }
         Properties properties;
         try {
-            properties = Commons.readProps(file, "UTF-8");
+            if (ConfigSnapshot.isEnabled()) {
+                properties = ConfigSnapshot.readProps(file, StandardCharsets.UTF_8);
+            } else {
+                properties = Commons.readProps(file, "UTF-8");
+            }
         } catch (RuntimeError ignored) {
             properties = new Properties();
         }
-        assignPropertiesToSystem(properties);
         return properties;
     }
 
-    private void assignPropertiesToSystem(Properties properties) {
+    private Snapshot newSnapshot(Properties properties) {
+        Snapshot snapshot = new Snapshot(properties);
+        assignPropertiesToSystem(snapshot.properties);
+        return snapshot;
+    }
+
+    private synchronized void assignPropertiesToSystem(Properties properties) {
         if (assignToSystem) {
-            properties.forEach((name, value) -> {
-                Property<String> property = Property.ofString((String) name);
-                if (property.getValue() == null) {
-                    property.setValue((String) value);
+            long startNanos = System.nanoTime();
+            Properties system = System.getProperties();
+            Map<String, String> owned = new HashMap<>();
+            Map<String, String> changed = new HashMap<>();
+
+            for (String name : properties.stringPropertyNames()) {
+                String value = properties.getProperty(name);
+                Object valueInSystem = system.get(name);
+                boolean assignedByThis = valueInSystem != null && valueInSystem.equals(assigned.get(name));
+
+                if (assignedByThis || valueInSystem == null || valueInSystem.equals("null")) {
+                    owned.put(name, value);
+                    if (!value.equals(valueInSystem)) {
+                        changed.put(name, value);
+                    }
+                }
+            }
+            boolean removed = false;
+            for (Map.Entry<String, String> entry : assigned.entrySet()) {
+                if (!owned.containsKey(entry.getKey())) {
+                    removed |= system.remove(entry.getKey(), entry.getValue());
                 }
-            });
+            }
+            if (!changed.isEmpty() || removed) {
+                system.putAll(changed);
+                Property.invalidateAll();
+            }
+            assigned = Map.copyOf(owned);
+            assignedCount = changed.size();
+            assignNanos = System.nanoTime() - startNanos;
+            log.debug("Assign {}/{} properties of {} to system in {}", assignedCount, properties.size(), getSource(), getLastAssignTime());
+        }
+    }
+
+    //===============================================================================//
+
+    private static final class Snapshot {
+        private final Properties properties;
+        private final Map<String, String> values;
+        private final ConversionCache conversions;
+
+        private Snapshot(Properties properties) {
+            Map<String, String> values = new HashMap<>();
+            for (String name : properties.stringPropertyNames()) {
+                values.put(name, properties.getProperty(name));
+            }
+            Map<String, String> resolved = Interpolator.resolve(values);
+            if (resolved != values) {
+                properties = new Properties();
+                properties.putAll(resolved);
+            }
+            this.properties = properties;
+            this.values = Map.copyOf(resolved);
+            this.conversions = new ConversionCache();
+        }
+
+        private boolean contains(String name) {
+            return values.containsKey(name);
+        }
+
+        private <T> T getValue(String name, Class<T> type) {
+            String value = values.get(name);
+            if (value == null) {
+                return null;
+            }
+            return conversions.get(type, name, value);
         }
     }
 }
@@ -0,0 +1,172 @@
+package com.github.ngoanh2n;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Watch the file of a {@link PropertiesFile} and {@link PropertiesFile#reload() reload} it when the file changes.<br>
+ * Events are debounced, so a burst of writes causes one reload only.
+ * If a reload fails, e.g. on a circular placeholder, the current properties are kept and watching goes on.<br><br>
+ *
+ * {@code PropertiesFileWatcher watcher = propertiesFile.watch(Duration.ofMillis(200))}<br><br>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/commons">ngoanh2n/commons</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/commons">com.github.ngoanh2n:commons</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2024
+ */
+@ParametersAreNonnullByDefault
+public final class PropertiesFileWatcher implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(PropertiesFileWatcher.class);
+    private final PropertiesFile propertiesFile;
+    private final Path path;
+    private final Duration debounce;
+    private final WatchService watchService;
+    private final Thread thread;
+    private final AtomicLong reloadCount;
+    private volatile long lastParseNanos;
+    private volatile long lastReloadLatencyNanos;
+    private volatile boolean closed;
+
+    PropertiesFileWatcher(PropertiesFile propertiesFile, Path path, Duration debounce) {
+        this.propertiesFile = propertiesFile;
+        this.path = path.toAbsolutePath();
+        this.debounce = debounce;
+        this.reloadCount = new AtomicLong();
+
+        try {
+            this.watchService = this.path.getFileSystem().newWatchService();
+            this.path.getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            String msg = String.format("Watch properties file %s", Commons.getRelative(this.path));
+            log.error(msg);
+            throw new RuntimeError(msg, e);
+        }
+        this.thread = new Thread(this::watch, "PropertiesFileWatcher-" + this.path.getFileName());
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Get the watched file.
+     *
+     * @return The path of watched file.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Get the number of reloads since watching started.
+     *
+     * @return The number of reloads.
+     */
+    public long getReloadCount() {
+        return reloadCount.get();
+    }
+
+    /**
+     * Get the time spent to read and parse the file in the last reload.
+     *
+     * @return The parse time of the last reload; {@link Duration#ZERO} if there is no reload yet.
+     */
+    public Duration getLastParseTime() {
+        return Duration.ofNanos(lastParseNanos);
+    }
+
+    /**
+     * Get the time from the first change event to the new properties becoming visible in the last reload.<br>
+     * It includes the debounce time.
+     *
+     * @return The latency of the last reload; {@link Duration#ZERO} if there is no reload yet.
+     */
+    public Duration getLastReloadLatency() {
+        return Duration.ofNanos(lastReloadLatencyNanos);
+    }
+
+    /**
+     * Stop watching the file.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            watchService.close();
+        } catch (IOException ignored) {
+            // Nothing to do, the watching thread stops anyway
+        }
+        thread.interrupt();
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private void watch() {
+        try {
+            while (!closed) {
+                WatchKey key = watchService.take();
+                long eventNanos = System.nanoTime();
+
+                if (!pollEvents(key)) {
+                    continue;
+                }
+                while (true) {
+                    WatchKey next = watchService.poll(debounce.toMillis(), TimeUnit.MILLISECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    pollEvents(next);
+                }
+                reload(eventNanos);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ignored) {
+            // Watcher was closed
+        }
+    }
+
+    private boolean pollEvents(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || path.getFileName().equals(event.context())) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    private void reload(long eventNanos) {
+        if (!Files.isRegularFile(path)) {
+            log.debug("Skip reloading {}, file does not exist", Commons.getRelative(path));
+            return;
+        }
+        long startNanos = System.nanoTime();
+        try {
+            propertiesFile.reload();
+        } catch (RuntimeException e) {
+            log.error("Reload {}, keep the current properties: {}", Commons.getRelative(path), e.getMessage());
+            return;
+        }
+        long endNanos = System.nanoTime();
+
+        lastParseNanos = endNanos - startNanos;
+        lastReloadLatencyNanos = endNanos - eventNanos;
+        reloadCount.incrementAndGet();
+        log.debug("Reload {} [parse: {}, latency: {}]", Commons.getRelative(path), getLastParseTime(), getLastReloadLatency());
+    }
+}
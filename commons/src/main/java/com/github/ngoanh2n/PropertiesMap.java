@@ -0,0 +1,209 @@
+package com.github.ngoanh2n;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Read-only {@link Map} of properties, parsed by a streaming parser and stored in a compact open-addressing table.<br>
+ * It is faster and smaller than {@link Properties} for large {@code .properties} files.
+ * <ul>
+ *     <li>{@code PropertiesMap map = PropertiesMap.read(new File("locale.properties"))}</li>
+ *     <li>{@code Properties props = map.toProperties()}</li>
+ * </ul>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/commons">ngoanh2n/commons</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/commons">com.github.ngoanh2n:commons</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2024
+ */
+public final class PropertiesMap extends AbstractMap<String, String> {
+    private static final Logger log = LoggerFactory.getLogger(PropertiesMap.class);
+    private String[] table;
+    private int size;
+    private Set<Entry<String, String>> entrySet;
+
+    private PropertiesMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 8) * 2 - 1) << 1;
+        this.table = new String[capacity * 2];
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Read properties file in UTF-8.
+     *
+     * @param file The properties file to read.
+     * @return {@link PropertiesMap} object.
+     */
+    public static PropertiesMap read(@Nonnull File file) {
+        return read(file, StandardCharsets.UTF_8, false);
+    }
+
+    /**
+     * Read properties file.
+     *
+     * @param file       The properties file to read.
+     * @param charset    The charset of the file.
+     * @param internKeys Indicate to {@link String#intern() intern} keys, useful when many maps share the same keys.
+     * @return {@link PropertiesMap} object.
+     */
+    public static PropertiesMap read(@Nonnull File file, @Nonnull Charset charset, boolean internKeys) {
+        String msg = "Read Properties " + Commons.getRelative(file).getPath().replace('\\', '/');
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            int expectedSize = (int) Math.min(channel.size() / 32, Integer.MAX_VALUE / 4);
+            return read(channel, charset, internKeys, expectedSize);
+        } catch (IOException e) {
+            log.error(msg);
+            throw new RuntimeError(msg, e);
+        }
+    }
+
+    /**
+     * Read properties from {@link InputStream}. The stream is not closed.
+     *
+     * @param is         The {@link InputStream} to read.
+     * @param charset    The charset of the content.
+     * @param internKeys Indicate to {@link String#intern() intern} keys, useful when many maps share the same keys.
+     * @return {@link PropertiesMap} object.
+     */
+    public static PropertiesMap read(@Nonnull InputStream is, @Nonnull Charset charset, boolean internKeys) {
+        try {
+            return read(Channels.newChannel(is), charset, internKeys, 16);
+        } catch (IOException e) {
+            throw new RuntimeError("Read Properties from InputStream", e);
+        }
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Copy all properties to a new {@link Properties}.
+     *
+     * @return {@link Properties} object.
+     */
+    public Properties toProperties() {
+        Properties properties = new Properties();
+        forEach(properties::put);
+        return properties;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String && indexOf((String) key) >= 0;
+    }
+
+    @Override
+    public String get(Object key) {
+        if (key instanceof String) {
+            int index = indexOf((String) key);
+            return index < 0 ? null : table[index + 1];
+        }
+        return null;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super String> action) {
+        for (int i = 0; i < table.length; i += 2) {
+            if (table[i] != null) {
+                action.accept(table[i], table[i + 1]);
+            }
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        if (entrySet == null) {
+            Set<Entry<String, String>> entries = new LinkedHashSet<>(size * 2);
+            forEach((key, value) -> entries.add(new SimpleImmutableEntry<>(key, value)));
+            entrySet = Collections.unmodifiableSet(entries);
+        }
+        return entrySet;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private static PropertiesMap read(ReadableByteChannel channel, Charset charset, boolean internKeys, int expectedSize) throws IOException {
+        PropertiesMap map = new PropertiesMap(expectedSize);
+        new PropertiesParser(channel, charset).parse((key, value) -> map.store(internKeys ? key.intern() : key, value));
+        return map;
+    }
+
+    private int indexOf(String key) {
+        int mask = (table.length >> 1) - 1;
+        int slot = hash(key) & mask;
+
+        while (true) {
+            String current = table[slot << 1];
+            if (current == null) {
+                return -1;
+            }
+            if (current.equals(key)) {
+                return slot << 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void store(String key, String value) {
+        if ((size + 1) * 4 > (table.length >> 1) * 3) {
+            resize();
+        }
+        int mask = (table.length >> 1) - 1;
+        int slot = hash(key) & mask;
+
+        while (true) {
+            String current = table[slot << 1];
+            if (current == null) {
+                table[slot << 1] = key;
+                table[(slot << 1) + 1] = value;
+                size++;
+                return;
+            }
+            if (current.equals(key)) {
+                table[(slot << 1) + 1] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void resize() {
+        String[] old = table;
+        table = new String[old.length * 2];
+        size = 0;
+
+        for (int i = 0; i < old.length; i += 2) {
+            if (old[i] != null) {
+                store(old[i], old[i + 1]);
+            }
+        }
+    }
+
+    private static int hash(String key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,237 @@
+package com.github.ngoanh2n;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * Parse {@code .properties} content from a {@link ReadableByteChannel} with the same syntax as {@link java.util.Properties#load(java.io.Reader)}.<br>
+ * Bytes are decoded chunk by chunk into one reused {@link CharBuffer}, only keys and values are allocated.
+ *
+ * @author ngoanh2n
+ * @since 2024
+ */
+final class PropertiesParser {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private final ReadableByteChannel channel;
+    private final CharsetDecoder decoder;
+    private final ByteBuffer bytes;
+    private final CharBuffer chars;
+    private char[] line;
+    private boolean endOfInput;
+    private boolean flushed;
+
+    PropertiesParser(ReadableByteChannel channel, Charset charset) {
+        this.channel = channel;
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.bytes = ByteBuffer.allocate(BUFFER_SIZE);
+        this.chars = CharBuffer.allocate(BUFFER_SIZE);
+        this.chars.flip();
+        this.line = new char[1024];
+    }
+
+    /**
+     * Parse all key-value pairs. Later pairs of the same key override earlier ones.
+     *
+     * @param consumer The consumer of key and value.
+     * @throws IOException if some IO error occurs.
+     */
+    void parse(BiConsumer<String, String> consumer) throws IOException {
+        int limit;
+        while ((limit = readLine()) >= 0) {
+            int keyLen = 0;
+            int valueStart = limit;
+            boolean hasSep = false;
+            boolean precedingBackslash = false;
+
+            while (keyLen < limit) {
+                char c = line[keyLen];
+                if ((c == '=' || c == ':') && !precedingBackslash) {
+                    valueStart = keyLen + 1;
+                    hasSep = true;
+                    break;
+                } else if ((c == ' ' || c == '\t' || c == '\f') && !precedingBackslash) {
+                    valueStart = keyLen + 1;
+                    break;
+                }
+                precedingBackslash = (c == '\\') && !precedingBackslash;
+                keyLen++;
+            }
+            while (valueStart < limit) {
+                char c = line[valueStart];
+                if (c != ' ' && c != '\t' && c != '\f') {
+                    if (!hasSep && (c == '=' || c == ':')) {
+                        hasSep = true;
+                    } else {
+                        break;
+                    }
+                }
+                valueStart++;
+            }
+            String key = convert(line, 0, keyLen);
+            String value = convert(line, valueStart, limit - valueStart);
+            consumer.accept(key, value);
+        }
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private int readLine() throws IOException {
+        int len = 0;
+        boolean skipWhiteSpace = true;
+        boolean appendedLineBegin = false;
+        boolean precedingBackslash = false;
+        boolean skipLF = false;
+
+        while (true) {
+            int next = read();
+            if (next < 0) {
+                if (len == 0) {
+                    return -1;
+                }
+                return precedingBackslash ? len - 1 : len;
+            }
+            char c = (char) next;
+
+            if (skipLF) {
+                skipLF = false;
+                if (c == '\n') {
+                    continue;
+                }
+            }
+            if (skipWhiteSpace) {
+                if (c == ' ' || c == '\t' || c == '\f') {
+                    continue;
+                }
+                if (!appendedLineBegin && (c == '\r' || c == '\n')) {
+                    continue;
+                }
+                skipWhiteSpace = false;
+                appendedLineBegin = false;
+            }
+            if (len == 0 && (c == '#' || c == '!')) {
+                skipComment();
+                skipWhiteSpace = true;
+                continue;
+            }
+            if (c != '\n' && c != '\r') {
+                if (len == line.length) {
+                    line = Arrays.copyOf(line, len * 2);
+                }
+                line[len++] = c;
+                precedingBackslash = (c == '\\') && !precedingBackslash;
+            } else {
+                if (precedingBackslash) {
+                    len--;
+                    skipWhiteSpace = true;
+                    appendedLineBegin = true;
+                    precedingBackslash = false;
+                    skipLF = (c == '\r');
+                } else {
+                    return len;
+                }
+            }
+        }
+    }
+
+    private void skipComment() throws IOException {
+        int next;
+        while ((next = read()) >= 0) {
+            if (next == '\n' || next == '\r') {
+                return;
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (!chars.hasRemaining() && !fill()) {
+            return -1;
+        }
+        return chars.get();
+    }
+
+    private boolean fill() throws IOException {
+        chars.clear();
+        while (!flushed && chars.position() == 0) {
+            if (!endOfInput && channel.read(bytes) < 0) {
+                endOfInput = true;
+            }
+            bytes.flip();
+            CoderResult result = decoder.decode(bytes, chars, endOfInput);
+            bytes.compact();
+
+            if (result.isError()) {
+                result.throwException();
+            }
+            if (endOfInput && result.isUnderflow()) {
+                decoder.flush(chars);
+                flushed = true;
+            }
+        }
+        chars.flip();
+        return chars.hasRemaining();
+    }
+
+    private static String convert(char[] in, int off, int len) {
+        int end = off + len;
+        int backslash = -1;
+
+        for (int i = off; i < end; i++) {
+            if (in[i] == '\\') {
+                backslash = i;
+                break;
+            }
+        }
+        if (backslash < 0) {
+            return new String(in, off, len);
+        }
+
+        StringBuilder out = new StringBuilder(len);
+        out.append(in, off, backslash - off);
+        int i = backslash;
+
+        while (i < end) {
+            char c = in[i++];
+            if (c != '\\') {
+                out.append(c);
+                continue;
+            }
+            if (i == end) {
+                break;
+            }
+            c = in[i++];
+            if (c == 'u') {
+                if (end - i < 4) {
+                    throw new IllegalArgumentException("Malformed \\uxxxx encoding.");
+                }
+                int value = 0;
+                for (int j = 0; j < 4; j++) {
+                    int digit = Character.digit(in[i++], 16);
+                    if (digit < 0) {
+                        throw new IllegalArgumentException("Malformed \\uxxxx encoding.");
+                    }
+                    value = (value << 4) | digit;
+                }
+                out.append((char) value);
+            } else {
+                switch (c) {
+                    case 't' -> out.append('\t');
+                    case 'r' -> out.append('\r');
+                    case 'n' -> out.append('\n');
+                    case 'f' -> out.append('\f');
+                    default -> out.append(c);
+                }
+            }
+        }
+        return out.toString();
+    }
+}
@@ -3,9 +3,12 @@ package com.github.ngoanh2n;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Represent a JVM system property.<br><br>
+ * Represent a JVM system property.<br>
+ * The value may contain {@code ${name}} and {@code ${env:NAME}} placeholders,
+ * they are resolved against JVM system properties and environment variables.<br><br>
  *
  * <em>Repository:</em>
  * <ul>
@@ -18,12 +21,16 @@ import java.util.Objects;
  */
 @ParametersAreNonnullByDefault
 public class Property<T> {
+    private static final AtomicLong generation = new AtomicLong();
+    private static final AtomicLong writes = new AtomicLong();
+    private final ResolveCache resolver = new ResolveCache();
     private final String name;
     private final Class<T> type;
     private final T initialValue;
     private final T defaultValue;
     private T value;
     private boolean reassigned;
+    private volatile Memo<T> memo;
 
     //-------------------------------------------------------------------------------//
 
@@ -227,7 +234,7 @@ public class Property<T> {
                     return defaultValue;
                 }
             }
-            return Commons.convertValue(type, valueInSystem);
+            return convertValue(valueInSystem);
         }
         return defaultValue;
     }
@@ -241,6 +248,7 @@ public class Property<T> {
         value = newValue;
         reassigned = true;
         System.setProperty(name, String.valueOf(newValue));
+        invalidate();
     }
 
     /**
@@ -249,6 +257,7 @@ public class Property<T> {
     public void clearValue() {
         value = null;
         System.clearProperty(name);
+        invalidate();
     }
 
     /**
@@ -274,4 +283,91 @@ public class Property<T> {
         }
         return reassigned;
     }
+
+    /**
+     * Invalidate the memoized values of all {@link Property}s.<br>
+     * Call it after changing JVM system properties or conversion rules outside of {@link Property}.
+     */
+    public static void invalidateAll() {
+        generation.incrementAndGet();
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Get the current configuration generation. It changes on {@link #invalidateAll()},
+     * e.g. after conversion rules change or a {@link PropertiesFile} is reloaded.<br>
+     * Writes through {@link #setValue(Object)} and {@link #clearValue()} don't change it,
+     * memoized values check the JVM system properties they depend on instead.
+     *
+     * @return The configuration generation.
+     */
+    static long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Get the current configuration version. It changes on {@link #invalidateAll()}
+     * and on every write through {@link #setValue(Object)} or {@link #clearValue()}.<br>
+     * Use it for views over many JVM system properties, which cannot check each property they depend on.
+     *
+     * @return The configuration version.
+     */
+    static long version() {
+        return generation.get() + writes.get();
+    }
+
+    /**
+     * Get the value of the JVM system property with placeholders resolved, without converting it.
+     *
+     * @return The resolved value; {@code null} if the JVM system property is absent.
+     */
+    @Nullable
+    String getResolvedSystemValue() {
+        String valueInSystem = System.getProperty(name);
+        if (valueInSystem == null || valueInSystem.equals("null")) {
+            return null;
+        }
+        return resolver.resolve(valueInSystem);
+    }
+
+    /**
+     * Get the value of the JVM system property only, without considering the default value.
+     *
+     * @return The converted value; {@code null} if the JVM system property is absent.
+     */
+    T getSystemValue() {
+        String valueInSystem = System.getProperty(name);
+        if (valueInSystem == null || Objects.equals(valueInSystem, "null")) {
+            return null;
+        }
+        return convertValue(valueInSystem);
+    }
+
+    private T convertValue(String valueInSystem) {
+        long current = generation.get();
+        String resolved = resolver.resolve(valueInSystem);
+        Memo<T> memo = this.memo;
+
+        Converter<T> converter;
+
+        if (memo != null && memo.generation == current) {
+            if (resolved.equals(memo.resolved)) {
+                return memo.value;
+            }
+            converter = memo.converter;
+        } else {
+            converter = Converters.find(type);
+        }
+        T converted = converter.convert(resolved);
+        this.memo = new Memo<>(current, converter, resolved, converted);
+        return converted;
+    }
+
+    private void invalidate() {
+        memo = null;
+        writes.incrementAndGet();
+    }
+
+    private record Memo<T>(long generation, Converter<T> converter, String resolved, T value) { /**/ }
 }
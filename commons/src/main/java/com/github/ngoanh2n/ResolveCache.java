@@ -0,0 +1,37 @@
+package com.github.ngoanh2n;
+
+/**
+ * Memoize the last value resolved by {@link Interpolator}.<br>
+ * The memo is valid while the raw value, the JVM system properties it refers to
+ * and the {@link Property#generation() Property generation} are unchanged.
+ * Values without placeholders are returned as they are.
+ *
+ * @author ngoanh2n
+ * @since 2024
+ */
+final class ResolveCache {
+    private volatile Memo memo;
+
+    /**
+     * Resolve placeholders of a raw value, or get the memoized result.
+     *
+     * @param raw The raw value.
+     * @return The resolved value.
+     */
+    String resolve(String raw) {
+        if (!Interpolator.hasPlaceholder(raw)) {
+            return raw;
+        }
+        long generation = Property.generation();
+        Memo memo = this.memo;
+
+        if (memo != null && memo.generation == generation && memo.raw.equals(raw) && memo.resolution.isCurrent()) {
+            return memo.resolution.value();
+        }
+        Interpolator.Resolution resolution = Interpolator.resolveTracked(raw);
+        this.memo = new Memo(raw, generation, resolution);
+        return resolution.value();
+    }
+
+    private record Memo(String raw, long generation, Interpolator.Resolution resolution) { /**/ }
+}
@@ -0,0 +1,51 @@
+package com.github.ngoanh2n;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * SPI to read compressed resources transparently.<br>
+ * When a resource is not found, {@link Resources} looks for the resource name plus the extension of each codec,
+ * and decompresses it while streaming. Gzip ({@code .gz}) is built in.<br>
+ * Implementations are loaded by {@link java.util.ServiceLoader}, declare them in
+ * {@code META-INF/services/com.github.ngoanh2n.ResourceCodec}.
+ * <pre>{@code
+ *      public class ZstdCodec implements ResourceCodec {
+ *          @Override
+ *          public String getExtension() {
+ *              return ".zst";
+ *          }
+ *
+ *          @Override
+ *          public InputStream decode(InputStream compressed) throws IOException {
+ *              return new ZstdInputStream(compressed);
+ *          }
+ *      }
+ * }</pre>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/commons">ngoanh2n/commons</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/commons">com.github.ngoanh2n:commons</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2024
+ */
+public interface ResourceCodec {
+    /**
+     * Get the extension of compressed resources.
+     *
+     * @return The extension including the dot, e.g. {@code .gz}.
+     */
+    String getExtension();
+
+    /**
+     * Decompress a resource while streaming.
+     *
+     * @param compressed The compressed content. It must be closed when the returned stream is closed.
+     * @return The decompressed content.
+     * @throws IOException if the content cannot be decompressed.
+     */
+    InputStream decode(InputStream compressed) throws IOException;
+}
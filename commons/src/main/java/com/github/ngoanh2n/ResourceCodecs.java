@@ -0,0 +1,191 @@
+package com.github.ngoanh2n;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registry of {@link ResourceCodec}s: built-in gzip, then the codecs loaded by {@link ServiceLoader}.<br>
+ * Decompressed streams are metered. On close, the compressed and decompressed sizes and the time spent reading
+ * are logged at debug level and added to {@link Resources#getCodecStats()}.
+ *
+ * @author ngoanh2n
+ * @since 2024
+ */
+final class ResourceCodecs {
+    private static final Logger log = LoggerFactory.getLogger(ResourceCodecs.class);
+    private static final List<ResourceCodec> codecs = load();
+    private static final AtomicLong resources = new AtomicLong();
+    private static final AtomicLong compressedBytes = new AtomicLong();
+    private static final AtomicLong decompressedBytes = new AtomicLong();
+    private static final AtomicLong decodeNanos = new AtomicLong();
+
+    private ResourceCodecs() { /**/ }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Open the compressed variant of a resource, e.g. {@code file.json.gz} for {@code file.json}.
+     *
+     * @param name The name of resource.
+     * @return The decompressed stream; {@code null} if no compressed variant exists.
+     * @throws IOException if the compressed resource cannot be read.
+     */
+    @Nullable
+    static InputStream open(String name) throws IOException {
+        for (ResourceCodec codec : codecs) {
+            String compressedName = name + codec.getExtension();
+            ResourceResolver.Resolution resolution = ResourceResolver.resolve(compressedName);
+            InputStream raw = openRaw(resolution);
+
+            if (raw != null) {
+                Counting counting = new Counting(raw);
+                try {
+                    return new Metered(compressedName, counting, codec.decode(counting));
+                } catch (IOException | RuntimeException e) {
+                    counting.close();
+                    throw e;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get counters of decompressed resources.
+     *
+     * @return The {@link Resources.CodecStats}.
+     */
+    static Resources.CodecStats stats() {
+        return new Resources.CodecStats(resources.get(), compressedBytes.get(), decompressedBytes.get(), decodeNanos.get());
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private static List<ResourceCodec> load() {
+        List<ResourceCodec> result = new ArrayList<>();
+        result.add(new GzipCodec());
+        for (ResourceCodec codec : ServiceLoader.load(ResourceCodec.class)) {
+            log.debug("Register resource codec {} for {}", codec.getClass().getName(), codec.getExtension());
+            result.add(codec);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    @Nullable
+    private static InputStream openRaw(ResourceResolver.Resolution resolution) throws IOException {
+        if (resolution.insideJar()) {
+            return resolution.url().openStream();
+        }
+        if (resolution.file() != null) {
+            return new FileInputStream(resolution.file());
+        }
+        return null;
+    }
+
+    //===============================================================================//
+
+    private static final class Counting extends FilterInputStream {
+        private long count;
+
+        private Counting(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+
+    private static final class Metered extends FilterInputStream {
+        private final String name;
+        private final Counting compressed;
+        private final long start;
+        private long count;
+        private long nanos;
+        private boolean closed;
+
+        private Metered(String name, Counting compressed, InputStream decoded) {
+            super(decoded);
+            this.name = name;
+            this.compressed = compressed;
+            this.start = System.nanoTime();
+        }
+
+        @Override
+        public int read() throws IOException {
+            long begin = System.nanoTime();
+            int b = super.read();
+            nanos += System.nanoTime() - begin;
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            long begin = System.nanoTime();
+            int n = super.read(b, off, len);
+            nanos += System.nanoTime() - begin;
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long begin = System.nanoTime();
+            long skipped = super.skip(n);
+            nanos += System.nanoTime() - begin;
+            count += skipped;
+            return skipped;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                super.close();
+                resources.incrementAndGet();
+                compressedBytes.addAndGet(compressed.count);
+                decompressedBytes.addAndGet(count);
+                decodeNanos.addAndGet(nanos);
+                log.debug("Decompressed {}: {} -> {} bytes, {} ms reading, {} ms open",
+                        name, compressed.count, count, nanos / 1_000_000, (System.nanoTime() - start) / 1_000_000);
+            }
+        }
+    }
+}
@@ -0,0 +1,454 @@
+package com.github.ngoanh2n;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.*;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Index of resources on the classpath of a {@link ClassLoader}, for listing resources by prefix or glob.<br>
+ * The index is built once per {@link ClassLoader} by scanning classpath directories and jars in parallel.
+ * Class files are not indexed. When a resource name exists in several roots, the first root on the classpath wins.
+ * Jars listed in the {@code Class-Path} manifest attribute of a classpath jar are indexed too, e.g. of a pathing jar.
+ * <pre>{@code
+ *      List<ResourceIndex.Entry> data = ResourceIndex.get().list("testdata/");
+ *      List<ResourceIndex.Entry> yaml = ResourceIndex.get().glob("testdata/**.yml");
+ * }</pre>
+ *
+ * <b>System Property</b>
+ * <ul>
+ *     <li>{@code ngoanh2n.resourceIndexFile}<br>
+ *          The file to persist the entries of jars to, e.g. {@code build/ngoanh2n/resource-index.bin}.
+ *          A jar whose size and last modified time are unchanged is read from this file instead of being scanned again.
+ *          Directories are always scanned. Default to not persist.
+ *     </li>
+ * </ul>
+ *
+ * <em>Repository:</em>
+ * <ul>
+ *     <li><em>GitHub: <a href="https://github.com/ngoanh2n/commons">ngoanh2n/commons</a></em></li>
+ *     <li><em>Maven: <a href="https://mvnrepository.com/artifact/com.github.ngoanh2n/commons">com.github.ngoanh2n:commons</a></em></li>
+ * </ul>
+ *
+ * @author ngoanh2n
+ * @since 2024
+ */
+public final class ResourceIndex {
+    private static final Logger log = LoggerFactory.getLogger(ResourceIndex.class);
+    private static final Property<Path> indexFile = new Property<>("ngoanh2n.resourceIndexFile", Path.class);
+    private static final Map<ClassLoader, CompletableFuture<ResourceIndex>> indexes = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final int MAGIC = 0x6E32_5249;
+    private static final int VERSION = 1;
+    private final NavigableMap<String, Entry> entries;
+
+    private ResourceIndex(NavigableMap<String, Entry> entries) {
+        this.entries = Collections.unmodifiableNavigableMap(entries);
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Get the index of the context {@link ClassLoader}.
+     *
+     * @return The {@link ResourceIndex}, built on first use.
+     */
+    public static ResourceIndex get() {
+        return of(Thread.currentThread().getContextClassLoader());
+    }
+
+    /**
+     * Get the index of a {@link ClassLoader}.
+     *
+     * @param classLoader The {@link ClassLoader} to index.
+     * @return The {@link ResourceIndex}, built on first use.
+     */
+    public static ResourceIndex of(@Nonnull ClassLoader classLoader) {
+        CompletableFuture<ResourceIndex> index = indexes.get(classLoader);
+        if (index == null) {
+            // Build outside the lock of indexes, other class loaders are not blocked by a slow scan
+            CompletableFuture<ResourceIndex> building = new CompletableFuture<>();
+            index = indexes.putIfAbsent(classLoader, building);
+            if (index == null) {
+                index = building;
+                try {
+                    building.complete(build(classLoader));
+                } catch (RuntimeException | Error e) {
+                    indexes.remove(classLoader, building);
+                    building.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        }
+        return index.join();
+    }
+
+    /**
+     * Drop all indexes, they are built again on next use.
+     */
+    static void clear() {
+        indexes.clear();
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Get the number of indexed resources.
+     *
+     * @return The number of resources.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Get the entry of a resource.
+     *
+     * @param name The name of resource, e.g. {@code com/foo/File.properties}.
+     * @return The {@link Entry}; {@code null} if the resource is not indexed.
+     */
+    @Nullable
+    public Entry getEntry(@Nonnull String name) {
+        return entries.get(name);
+    }
+
+    /**
+     * List resources whose names start with a prefix.
+     *
+     * @param prefix The prefix, e.g. {@code testdata/}. Empty to list all resources.
+     * @return The entries sorted by name.
+     */
+    public List<Entry> list(@Nonnull String prefix) {
+        List<Entry> result = new ArrayList<>();
+        for (Map.Entry<String, Entry> entry : entries.tailMap(prefix, true).entrySet()) {
+            if (!entry.getKey().startsWith(prefix)) {
+                break;
+            }
+            result.add(entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * List resources whose names match a glob.<br>
+     * {@code *} matches within a directory, {@code **} across directories, {@code ?} one character,
+     * {@code [abc]} a character class and {@code {yml,yaml}} alternatives.
+     *
+     * @param glob The glob, e.g. {@code testdata/**.{yml,yaml}}.
+     * @return The entries sorted by name.
+     */
+    public List<Entry> glob(@Nonnull String glob) {
+        Pattern pattern = toPattern(glob);
+        return list(literalPrefix(glob))
+                .stream()
+                .filter(entry -> pattern.matcher(entry.name).matches())
+                .collect(Collectors.toList());
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private static ResourceIndex build(ClassLoader classLoader) {
+        long start = System.nanoTime();
+        Path persisted = indexFile.getValue();
+        Map<Path, Root> known = persisted == null ? Collections.emptyMap() : read(persisted);
+
+        List<Root> roots = rootsOf(classLoader)
+                .parallelStream()
+                .map(path -> scan(path, known.get(path)))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        NavigableMap<String, Entry> entries = new TreeMap<>();
+        for (Root root : roots) {
+            for (Entry entry : root.entries) {
+                entries.putIfAbsent(entry.name, entry);
+            }
+        }
+
+        if (persisted != null) {
+            List<Root> jars = roots.stream().filter(Root::isJar).collect(Collectors.toList());
+            if (jars.size() != known.size() || jars.stream().anyMatch(jar -> known.get(jar.path) != jar)) {
+                write(persisted, jars);
+            }
+        }
+        log.debug("Indexed {} resources in {} roots in {} ms", entries.size(), roots.size(), (System.nanoTime() - start) / 1_000_000);
+        return new ResourceIndex(entries);
+    }
+
+    private static Set<Path> rootsOf(ClassLoader classLoader) {
+        List<ClassLoader> chain = new ArrayList<>();
+        for (ClassLoader cl = classLoader; cl != null; cl = cl.getParent()) {
+            chain.add(0, cl);
+        }
+
+        Set<Path> roots = new LinkedHashSet<>();
+        for (ClassLoader cl : chain) {
+            if (cl == ClassLoader.getSystemClassLoader()) {
+                for (String element : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+                    if (!element.isEmpty()) {
+                        addRoot(roots, Paths.get(element).toAbsolutePath().normalize());
+                    }
+                }
+            }
+            if (cl instanceof URLClassLoader) {
+                for (URL url : ((URLClassLoader) cl).getURLs()) {
+                    if ("file".equals(url.getProtocol())) {
+                        try {
+                            addRoot(roots, Paths.get(url.toURI()).toAbsolutePath().normalize());
+                        } catch (URISyntaxException | IllegalArgumentException ignored) {
+                            // Not a local path, nothing to index
+                        }
+                    }
+                }
+            }
+        }
+        return roots;
+    }
+
+    private static void addRoot(Set<Path> roots, Path path) {
+        if (roots.add(path) && Files.isRegularFile(path)) {
+            for (Path element : manifestClassPath(path)) {
+                addRoot(roots, element);
+            }
+        }
+    }
+
+    private static List<Path> manifestClassPath(Path jar) {
+        try (JarFile file = new JarFile(jar.toFile(), false)) {
+            Manifest manifest = file.getManifest();
+            String classPath = manifest == null ? null : manifest.getMainAttributes().getValue(Attributes.Name.CLASS_PATH);
+            if (classPath == null) {
+                return Collections.emptyList();
+            }
+
+            List<Path> elements = new ArrayList<>();
+            URL base = jar.toUri().toURL();
+            for (String element : classPath.trim().split("\\s+")) {
+                try {
+                    URL url = new URL(base, element);
+                    if (!element.isEmpty() && "file".equals(url.getProtocol())) {
+                        elements.add(Paths.get(url.toURI()).toAbsolutePath().normalize());
+                    }
+                } catch (MalformedURLException | URISyntaxException | IllegalArgumentException ignored) {
+                    // Not a local path, nothing to index
+                }
+            }
+            return elements;
+        } catch (IOException e) {
+            log.debug("Skip manifest of {}: {}", jar, e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    @Nullable
+    private static Root scan(Path path, @Nullable Root known) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if (attributes.isDirectory()) {
+                return new Root(path, -1, -1, scanDirectory(path));
+            }
+            long size = attributes.size();
+            long lastModified = attributes.lastModifiedTime().toMillis();
+            if (known != null && known.size == size && known.lastModified == lastModified) {
+                return known;
+            }
+            return new Root(path, size, lastModified, scanJar(path));
+        } catch (IOException e) {
+            log.debug("Skip indexing {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    private static List<Entry> scanDirectory(Path directory) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        Files.walkFileTree(directory, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                String name = directory.relativize(file).toString().replace(File.separatorChar, '/');
+                if (attributes.isRegularFile() && !name.endsWith(".class")) {
+                    entries.add(new Entry(name, attributes.size(), attributes.lastModifiedTime().toMillis()));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return entries;
+    }
+
+    private static List<Entry> scanJar(Path jar) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try (ZipFile zip = new ZipFile(jar.toFile())) {
+            Enumeration<? extends ZipEntry> zipEntries = zip.entries();
+            while (zipEntries.hasMoreElements()) {
+                ZipEntry entry = zipEntries.nextElement();
+                String name = entry.getName();
+                if (!entry.isDirectory() && !name.endsWith(".class")) {
+                    entries.add(new Entry(name, entry.getSize(), entry.getTime()));
+                }
+            }
+        }
+        return entries;
+    }
+
+    private static Map<Path, Root> read(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return Collections.emptyMap();
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return Collections.emptyMap();
+            }
+            Map<Path, Root> roots = new HashMap<>();
+            for (int i = in.readInt(); i > 0; i--) {
+                Path path = Paths.get(in.readUTF());
+                long size = in.readLong();
+                long lastModified = in.readLong();
+                List<Entry> entries = new ArrayList<>();
+                for (int j = in.readInt(); j > 0; j--) {
+                    entries.add(new Entry(in.readUTF(), in.readLong(), in.readLong()));
+                }
+                roots.put(path, new Root(path, size, lastModified, entries));
+            }
+            return roots;
+        } catch (IOException | RuntimeException e) {
+            log.debug("Ignore resource index {}: {}", file, e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
+    private static void write(Path file, List<Root> jars) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    out.writeInt(MAGIC);
+                    out.writeInt(VERSION);
+                    out.writeInt(jars.size());
+                    for (Root jar : jars) {
+                        out.writeUTF(jar.path.toString());
+                        out.writeLong(jar.size);
+                        out.writeLong(jar.lastModified);
+                        out.writeInt(jar.entries.size());
+                        for (Entry entry : jar.entries) {
+                            out.writeUTF(entry.name);
+                            out.writeLong(entry.size);
+                            out.writeLong(entry.lastModified);
+                        }
+                    }
+                }
+                try {
+                    Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException ignored) {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            log.debug("Cannot write resource index {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static String literalPrefix(String glob) {
+        int i = 0;
+        while (i < glob.length() && "*?[{\\".indexOf(glob.charAt(i)) < 0) {
+            i++;
+        }
+        return glob.substring(0, i);
+    }
+
+    private static Pattern toPattern(String glob) {
+        StringBuilder regex = new StringBuilder();
+        boolean inGroup = false;
+
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            switch (c) {
+                case '*':
+                    if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                        i++;
+                        if (i + 1 < glob.length() && glob.charAt(i + 1) == '/') {
+                            i++;
+                            regex.append("(?:.*/)?");
+                        } else {
+                            regex.append(".*");
+                        }
+                    } else {
+                        regex.append("[^/]*");
+                    }
+                    break;
+                case '?':
+                    regex.append("[^/]");
+                    break;
+                case '[':
+                    int end = glob.indexOf(']', i + 1);
+                    if (end < 0) {
+                        regex.append("\\[");
+                    } else {
+                        String chars = glob.substring(i + 1, end);
+                        regex.append('[').append(chars.startsWith("!") ? "^" + chars.substring(1) : chars).append(']');
+                        i = end;
+                    }
+                    break;
+                case '{':
+                    regex.append("(?:");
+                    inGroup = true;
+                    break;
+                case '}':
+                    regex.append(inGroup ? ")" : "\\}");
+                    inGroup = false;
+                    break;
+                case ',':
+                    regex.append(inGroup ? "|" : ",");
+                    break;
+                case '\\':
+                    if (i + 1 < glob.length()) {
+                        regex.append(Pattern.quote(String.valueOf(glob.charAt(++i))));
+                    }
+                    break;
+                default:
+                    regex.append(Character.isLetterOrDigit(c) || c == '/' ? String.valueOf(c) : "\\" + c);
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    //===============================================================================//
+
+    /**
+     * An indexed resource.
+     *
+     * @param name         The name of resource, e.g. {@code com/foo/File.properties}.
+     * @param size         The size in bytes; {@code -1} if unknown.
+     * @param lastModified The last modified time in milliseconds since the epoch; {@code -1} if unknown.
+     */
+    public record Entry(String name, long size, long lastModified) { /**/ }
+
+    private record Root(Path path, long size, long lastModified, List<Entry> entries) {
+        private boolean isJar() {
+            return size >= 0;
+        }
+    }
+}
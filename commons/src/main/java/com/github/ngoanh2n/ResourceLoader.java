@@ -0,0 +1,105 @@
+package com.github.ngoanh2n;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Load resources asynchronously with bounded concurrency.<br>
+ * Tasks run on virtual threads when the JVM has them (Java 21+), or on a fixed pool of daemon threads otherwise.
+ * At most {@code ngoanh2n.resourceLoadConcurrency} resources (default 16) are loaded at the same time.
+ * The concurrency is read when the first resource is loaded.
+ *
+ * @author ngoanh2n
+ * @since 2024
+ */
+final class ResourceLoader {
+    private static final IntProperty concurrency = new IntProperty("ngoanh2n.resourceLoadConcurrency", 16);
+    private static volatile Executor executor;
+
+    private ResourceLoader() { /**/ }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Load resources in parallel, by the context {@link ClassLoader} of the calling thread.
+     *
+     * @param resourceNames The names of resources, duplicates are loaded once.
+     * @param loader        The function to load a resource.
+     * @param <T>           The type of loaded value.
+     * @return A future of values by resource name, in the order of names;
+     * completed exceptionally if a resource could not be loaded.
+     */
+    static <T> CompletableFuture<Map<String, T>> loadAll(Collection<String> resourceNames, Function<String, T> loader) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        Executor taskExecutor = executor();
+        Map<String, CompletableFuture<T>> futures = new LinkedHashMap<>();
+
+        for (String name : resourceNames) {
+            futures.computeIfAbsent(name, n -> CompletableFuture.supplyAsync(() -> load(classLoader, n, loader), taskExecutor));
+        }
+        return CompletableFuture
+                .allOf(futures.values().toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> {
+                    Map<String, T> values = new LinkedHashMap<>();
+                    futures.forEach((name, future) -> values.put(name, future.join()));
+                    return values;
+                });
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private static <T> T load(ClassLoader classLoader, String name, Function<String, T> loader) {
+        Thread thread = Thread.currentThread();
+        ClassLoader original = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try {
+            return loader.apply(name);
+        } finally {
+            thread.setContextClassLoader(original);
+        }
+    }
+
+    private static Executor executor() {
+        Executor result = executor;
+        if (result == null) {
+            synchronized (ResourceLoader.class) {
+                result = executor;
+                if (result == null) {
+                    result = createExecutor(Math.max(1, concurrency.getAsInt()));
+                    executor = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Executor createExecutor(int permits) {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            ExecutorService virtualThreads = (ExecutorService) method.invoke(null);
+            Semaphore semaphore = new Semaphore(permits);
+            return command -> virtualThreads.execute(() -> {
+                semaphore.acquireUninterruptibly();
+                try {
+                    command.run();
+                } finally {
+                    semaphore.release();
+                }
+            });
+        } catch (ReflectiveOperationException ignored) {
+            AtomicInteger count = new AtomicInteger();
+            return Executors.newFixedThreadPool(permits, runnable -> {
+                Thread thread = new Thread(runnable, "ngoanh2n-resource-loader-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
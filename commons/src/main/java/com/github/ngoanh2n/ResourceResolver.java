@@ -0,0 +1,163 @@
+package com.github.ngoanh2n;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolve resource names to {@link URL}s and {@link File}s, with a cache per {@link ClassLoader}.<br>
+ * Missing resources are cached too, so looking up an absent resource again is only a map read.<br><br>
+ *
+ * Entries never expire by default. Set {@code ngoanh2n.resourceCacheTtl} (e.g. {@code 30s}, {@code PT1M})
+ * to re-resolve entries older than that, or to {@code 0} to disable the cache.
+ * {@link Resources#clearCache()} drops all entries.<br><br>
+ *
+ * With {@code ngoanh2n.findResourceOnClasspath=false}, resources are looked up in the ordered roots of
+ * {@code ngoanh2n.resourceRoots} (default {@code src/test/resources,src/main/resources}).
+ * Roots are resolved to absolute paths and checked for existence once, until the property changes or the cache is cleared.
+ * Resolutions are cached per roots, so changing the property takes effect without clearing the cache.
+ * Set {@code ngoanh2n.resourceRootsParallel=true} to probe all roots at the same time, e.g. on network file systems.
+ *
+ * @author ngoanh2n
+ * @since 2024
+ */
+final class ResourceResolver {
+    private static final BooleanProperty findOnClasspath = new BooleanProperty("ngoanh2n.findResourceOnClasspath", true);
+    private static final Property<Duration> ttl = new Property<>("ngoanh2n.resourceCacheTtl", Duration.class);
+    private static final Property<String> resourceRoots = new Property<>("ngoanh2n.resourceRoots", String.class);
+    private static final BooleanProperty parallelProbe = new BooleanProperty("ngoanh2n.resourceRootsParallel");
+    private static final Map<ClassLoader, Map<Key, Resolution>> caches = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final String DEFAULT_ROOTS = "src/test/resources,src/main/resources";
+    private static volatile SearchPath searchPath;
+
+    private ResourceResolver() { /**/ }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Resolve a resource by the context {@link ClassLoader}.
+     *
+     * @param name The name of resource.
+     * @return The {@link Resolution}, never {@code null}.
+     */
+    static Resolution resolve(String name) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        boolean onClasspath = findOnClasspath.getAsBoolean();
+        Key key = new Key(name, onClasspath, onClasspath ? null : rootsSpec());
+        Duration timeToLive = ttl.getValue();
+
+        if (timeToLive != null && timeToLive.isZero()) {
+            return resolve(classLoader, key);
+        }
+        Map<Key, Resolution> cache = caches.get(classLoader);
+        if (cache == null) {
+            cache = caches.computeIfAbsent(classLoader, cl -> new ConcurrentHashMap<>());
+        }
+
+        Resolution resolution = cache.get(key);
+        if (resolution == null || (timeToLive != null && resolution.isOlderThan(timeToLive))) {
+            resolution = resolve(classLoader, key);
+            cache.put(key, resolution);
+        }
+        return resolution;
+    }
+
+    /**
+     * Drop all cached resolutions.
+     */
+    static void clear() {
+        caches.clear();
+        searchPath = null;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private static Resolution resolve(ClassLoader classLoader, Key key) {
+        URL url = classLoader.getResource(key.name);
+        File file;
+
+        if (url != null && url.toString().contains(".jar!")) {
+            file = new File(url.getFile());
+        } else if (key.onClasspath) {
+            file = (url == null) ? null : existing(new File(url.getFile()));
+        } else {
+            file = findInRootLocation(key.name, key.roots);
+        }
+        return new Resolution(key.name, url, file, System.nanoTime());
+    }
+
+    private static File findInRootLocation(String name, String spec) {
+        String relative = name.replace('/', File.separatorChar);
+        List<Path> roots = searchPath(spec).roots;
+
+        if (roots.size() > 1 && parallelProbe.getAsBoolean()) {
+            return roots
+                    .parallelStream()
+                    .map(root -> existing(root.resolve(relative).toFile()))
+                    .filter(Objects::nonNull)
+                    .findFirst()
+                    .orElse(null);
+        }
+        for (Path root : roots) {
+            File file = existing(root.resolve(relative).toFile());
+            if (file != null) {
+                return file;
+            }
+        }
+        return null;
+    }
+
+    private static String rootsSpec() {
+        return Objects.requireNonNullElse(resourceRoots.getValue(), DEFAULT_ROOTS);
+    }
+
+    private static SearchPath searchPath(String spec) {
+        SearchPath current = searchPath;
+        if (current == null || !current.spec.equals(spec)) {
+            List<Path> roots = new ArrayList<>();
+            for (String root : spec.split(",")) {
+                Path path = Paths.get(root.trim()).toAbsolutePath().normalize();
+                if (!root.isBlank() && Files.isDirectory(path) && !roots.contains(path)) {
+                    roots.add(path);
+                }
+            }
+            current = new SearchPath(spec, List.copyOf(roots));
+            searchPath = current;
+        }
+        return current;
+    }
+
+    private static File existing(File file) {
+        return file.exists() ? file : null;
+    }
+
+    //===============================================================================//
+
+    /**
+     * The result of resolving a resource name.
+     *
+     * @param name       The name of resource.
+     * @param url        The {@link URL} found by {@link ClassLoader}; {@code null} if not found.
+     * @param file       The existing {@link File} of resource, or the entry of a jar; {@code null} if not found.
+     * @param resolvedAt The {@link System#nanoTime()} of resolving.
+     */
+    record Resolution(String name, @Nullable URL url, @Nullable File file, long resolvedAt) {
+        boolean insideJar() {
+            return url != null && url.toString().contains(".jar!");
+        }
+
+        private boolean isOlderThan(Duration duration) {
+            return System.nanoTime() - resolvedAt > duration.toNanos();
+        }
+    }
+
+    private record Key(String name, boolean onClasspath, @Nullable String roots) { /**/ }
+
+    private record SearchPath(String spec, List<Path> roots) { /**/ }
+}
@@ -1,17 +1,29 @@
 package com.github.ngoanh2n;
 
 import com.google.common.base.Preconditions;
-import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
 import java.io.*;
 import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.concurrent.atomic.AtomicReference;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /**
  * Find and read Java resources.
@@ -20,8 +32,13 @@ import java.util.concurrent.atomic.AtomicReference;
  *     <li>{@code Path path = Resources.getPath("file.json")}</li>
  *     <li>{@code String content = Resources.getContent("file.yml")}</li>
  *     <li>{@code InputStream is = Resources.getInputStream("file.png")}</li>
+ *     <li>{@code Stream<String> lines = Resources.lines("file.log", StandardCharsets.UTF_8)}</li>
+ *     <li>{@code List<String> names = Resources.glob("testdata/**.yml")}</li>
  * </ul>
  *
+ * A resource which is not found is read from its compressed variant if any, e.g. {@code file.json.gz} for {@code file.json},
+ * see {@link ResourceCodec}.<br><br>
+ *
  * <b>System Property</b>
  * <ul>
  *     <li>{@code ngoanh2n.findResourceOnClasspath}<br>
@@ -33,7 +50,7 @@ import java.util.concurrent.atomic.AtomicReference;
  *                      {project}/out/production/resources/
  *                  }</pre>
  *              </li>
- *              <li>false: Look for the resources in root location
+ *              <li>false: Look for the resources in root location, see {@code ngoanh2n.resourceRoots}
  *                  <pre>{@code
  *                      {project}/src/test/resources/
  *                      {project}/src/main/resources/
@@ -41,6 +58,33 @@ import java.util.concurrent.atomic.AtomicReference;
  *              </li>
  *          </ul>
  *     </li>
+ *     <li>{@code ngoanh2n.resourceRoots}<br>
+ *          Comma-separated roots to look for the resources in order, when {@code ngoanh2n.findResourceOnClasspath=false},
+ *          e.g. {@code module-a/src/test/resources,build/generated/resources}. Relative roots are resolved against the working directory.
+ *          Default to {@code src/test/resources,src/main/resources}.
+ *     </li>
+ *     <li>{@code ngoanh2n.resourceRootsParallel}<br>
+ *          Indicate to probe all roots at the same time, which helps on network file systems. Default to {@code false}.
+ *     </li>
+ *     <li>{@code ngoanh2n.resourceCacheTtl}<br>
+ *          How long a resolved resource (found or missing) is cached, e.g. {@code 30s}, {@code PT1M}; {@code 0} to disable.
+ *          Default to never expire, see {@link #clearCache()}.
+ *     </li>
+ *     <li>{@code ngoanh2n.contentCache}<br>
+ *          Indicate to cache contents of {@link #getContent(String, Charset)}, see {@link #getCacheStats()}.
+ *          Default to {@code false}.
+ *     </li>
+ *     <li>{@code ngoanh2n.contentCacheSize}<br>
+ *          The budget of content cache in bytes. Default to {@code 33554432} (32 MiB).
+ *     </li>
+ *     <li>{@code ngoanh2n.resourceLoadConcurrency}<br>
+ *          The maximum number of resources loaded at the same time by {@link #preload(Collection)} and
+ *          {@link #loadAllAsync(Collection)}. Default to {@code 16}.
+ *     </li>
+ *     <li>{@code ngoanh2n.autoCharset}<br>
+ *          Indicate to detect charset in {@link #getContent(String)} instead of using the platform default charset.
+ *          Default to {@code false}.
+ *     </li>
  * </ul>
  *
  * <em>Repository:</em>
@@ -54,7 +98,7 @@ import java.util.concurrent.atomic.AtomicReference;
  */
 public final class Resources {
     private static final Logger log = LoggerFactory.getLogger(Resources.class);
-    private static final Property<Boolean> findOnClasspath = Property.ofBoolean("ngoanh2n.findResourceOnClasspath", true);
+    private static final int MAX_BUFFER_SIZE = Integer.MAX_VALUE - 8;
 
     private Resources() { /**/ }
 
@@ -72,19 +116,52 @@ public final class Resources {
     }
 
     /**
-     * Get the path of resource.
+     * Get the path of resource.<br>
+     * A resource inside a jar gets a {@link Path} of the zip {@link java.nio.file.FileSystem} of that jar,
+     * which is opened once and kept open, so it can be read, walked and copied with {@link Files} without extracting.
      *
      * @param resourceName is the name of resource.<br>
      *                     e.g. com/foo/File.properties
      * @return {@link Path} of resource if the file exists; {@link RuntimeError} otherwise.
      */
     public static Path getPath(@Nonnull String resourceName) {
+        return toPath(new Target(resourceName));
+    }
+
+    /**
+     * Find a resource without throwing or logging when it doesn't exist.<br>
+     * Compressed variants of the resource are not considered, see {@link ResourceCodec}.
+     *
+     * @param resourceName is the name of resource.<br>
+     *                     e.g. com/foo/File.properties
+     * @return The {@link Path} of resource, see {@link #getPath(String)};
+     * empty if the resource doesn't exist or its jar cannot be opened.
+     */
+    public static Optional<Path> find(@Nonnull String resourceName) {
         Target target = new Target(resourceName);
-        if (target.insideJar()) {
-            String path = target.getURL().toString().replace("jar:file:/", "");
-            return Paths.get(path);
+        if (!target.exists()) {
+            return Optional.empty();
+        }
+        if (!target.insideJar()) {
+            return Optional.of(target.getFile().toPath());
+        }
+        try {
+            return Optional.of(JarFileSystems.getPath(target.getURL()));
+        } catch (IOException ignored) {
+            return Optional.empty();
         }
-        return getFile(resourceName).toPath();
+    }
+
+    /**
+     * Check whether a resource exists, without throwing or logging.<br>
+     * Compressed variants of the resource are not considered, see {@link ResourceCodec}.
+     *
+     * @param resourceName is the name of resource.<br>
+     *                     e.g. com/foo/File.properties
+     * @return {@code true} if the resource exists.
+     */
+    public static boolean exists(@Nonnull String resourceName) {
+        return new Target(resourceName).exists();
     }
 
     /**
@@ -97,24 +174,35 @@ public final class Resources {
     public static InputStream getInputStream(@Nonnull String resourceName) {
         try {
             Target target = new Target(resourceName);
+            if (!target.exists()) {
+                InputStream decoded = ResourceCodecs.open(resourceName);
+                if (decoded != null) {
+                    return decoded;
+                }
+            }
             if (target.insideJar()) {
                 return target.getInputStream();
             }
-            return new FileInputStream(getFile(resourceName));
+            return new FileInputStream(target.getFile());
         } catch (FileNotFoundException e) {
             throw new RuntimeError(String.format("Resource [%s] not found", resourceName));
+        } catch (IOException e) {
+            String msg = String.format("Read resource %s", resourceName);
+            log.error(msg);
+            throw new RuntimeError(msg, e);
         }
     }
 
     /**
-     * Get the resource file as {@link String}.
+     * Get the resource file as {@link String}.<br>
+     * Read in the platform default charset, or detect charset if {@code ngoanh2n.autoCharset=true}.
      *
      * @param resourceName is the name of resource.<br>
      *                     e.g. com/foo/File.properties
      * @return {@link String} if the file exists; {@link RuntimeError} otherwise.
      */
     public static String getContent(@Nonnull String resourceName) {
-        return getContent(resourceName, Charset.defaultCharset());
+        return getContent(resourceName, CharsetDetector.forResource(resourceName));
     }
 
     /**
@@ -126,56 +214,309 @@ public final class Resources {
      * @return {@link String} if the file exists; {@link RuntimeError} otherwise.
      */
     public static String getContent(@Nonnull String resourceName, @Nonnull Charset charset) {
+        Target target = new Target(resourceName);
+        try {
+            if (!ContentCache.isEnabled() || !target.exists()) {
+                return new String(target.readBytes(), charset);
+            }
+            Path file = target.insideJar() ? null : target.getFile().toPath();
+            String source = file == null ? target.getURL().toString() : file.toAbsolutePath().toString();
+            ContentCache.Stamp stamp = ContentCache.stamp(file);
+            String content = ContentCache.get(source, charset, stamp);
+
+            if (content == null) {
+                content = new String(target.readBytes(), charset);
+                ContentCache.put(source, charset, stamp, content);
+            }
+            return content;
+        } catch (IOException e) {
+            String msg = String.format("Read resource %s", resourceName);
+            log.error(msg);
+            throw new RuntimeError(msg, e);
+        }
+    }
+
+    /**
+     * Get the lines of resource file as a lazy {@link Stream}, without reading the whole file into memory.<br>
+     * Lines of a file in UTF-8, US-ASCII or ISO-8859-1 are read through memory-mapped regions,
+     * and the stream splits on line boundaries, so {@link Stream#parallel()} processes the file on several cores.
+     * Other resources are read sequentially with a {@link BufferedReader}.<br>
+     * The stream must be closed, e.g. by try-with-resources.
+     *
+     * @param resourceName is the name of resource.<br>
+     *                     e.g. com/foo/File.log
+     * @param charset      the charset to decode.
+     * @return {@link Stream} of lines if the file exists; {@link RuntimeError} otherwise.
+     */
+    public static Stream<String> lines(@Nonnull String resourceName, @Nonnull Charset charset) {
+        Target target = new Target(resourceName);
+        if (!target.insideJar() && LineSpliterator.supports(charset)) {
+            try {
+                FileChannel channel = FileChannel.open(target.getFile().toPath(), StandardOpenOption.READ);
+                try {
+                    return LineSpliterator.stream(channel, charset);
+                } catch (IOException | RuntimeException e) {
+                    channel.close();
+                    throw e;
+                }
+            } catch (IOException e) {
+                String msg = String.format("Read resource %s", resourceName);
+                log.error(msg);
+                throw new RuntimeError(msg, e);
+            }
+        }
+        BufferedReader reader = new BufferedReader(new InputStreamReader(getInputStream(resourceName), charset));
+        return reader.lines().onClose(() -> {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Get the resource file as bytes.
+     *
+     * @param resourceName is the name of resource.<br>
+     *                     e.g. com/foo/File.png
+     * @return The content as byte array if the file exists; {@link RuntimeError} otherwise.
+     */
+    public static byte[] getBytes(@Nonnull String resourceName) {
+        Target target = new Target(resourceName);
         try {
-            InputStream is = getInputStream(resourceName);
-            return IOUtils.toString(is, charset);
+            return target.readBytes();
         } catch (IOException e) {
-            throw new RuntimeError(e);
+            String msg = String.format("Read resource %s", resourceName);
+            log.error(msg);
+            throw new RuntimeError(msg, e);
+        }
+    }
+
+    /**
+     * Get the resource file as {@link ByteBuffer} without copying it into the heap.
+     * <ul>
+     *     <li>File: the file is memory-mapped read-only, up to 2 GiB.</li>
+     *     <li>Jar entry: the entry is read into a pooled direct buffer.</li>
+     * </ul>
+     * Call {@link #release(ByteBuffer)} when done, so the buffer of a jar entry can be reused.
+     *
+     * @param resourceName is the name of resource.<br>
+     *                     e.g. com/foo/File.png
+     * @return {@link ByteBuffer} from position 0 to the end of content if the file exists; {@link RuntimeError} otherwise.
+     */
+    public static ByteBuffer getByteBuffer(@Nonnull String resourceName) {
+        Target target = new Target(resourceName);
+        try {
+            if (target.insideJar()) {
+                return target.readDirect();
+            }
+            try (FileChannel channel = FileChannel.open(target.getFile().toPath(), StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        } catch (IOException e) {
+            String msg = String.format("Read resource %s", resourceName);
+            log.error(msg);
+            throw new RuntimeError(msg, e);
+        }
+    }
+
+    /**
+     * Get the resource file as {@link CharBuffer}, decoded straight from {@link #getByteBuffer(String)}.
+     *
+     * @param resourceName is the name of resource.<br>
+     *                     e.g. com/foo/File.json
+     * @param charset      the charset to decode.
+     * @return {@link CharBuffer} if the file exists; {@link RuntimeError} otherwise.
+     */
+    public static CharBuffer getCharBuffer(@Nonnull String resourceName, @Nonnull Charset charset) {
+        ByteBuffer buffer = getByteBuffer(resourceName);
+        try {
+            return charset.decode(buffer);
+        } finally {
+            release(buffer);
+        }
+    }
+
+    /**
+     * Release a {@link ByteBuffer} got from {@link #getByteBuffer(String)}.<br>
+     * The buffer must not be used after releasing. Memory-mapped buffers are left to GC.
+     *
+     * @param buffer The buffer to release.
+     */
+    public static void release(@Nonnull ByteBuffer buffer) {
+        DirectBufferPool.release(buffer);
+    }
+
+    /**
+     * Read resources in parallel ahead of use, see {@link #loadAllAsync(Collection)} for threading.<br>
+     * Resolutions are cached, so later calls of {@link #getFile(String)}, {@link #getInputStream(String)}, etc.
+     * do not search the classpath again, and the bytes are read once to warm the OS page cache.
+     * Use {@link #preload(Collection, Charset)} to also fill the content cache of {@link #getContent(String, Charset)}.
+     *
+     * @param resourceNames The names of resources.<br>
+     *                      e.g. com/foo/File.properties
+     * @return A future completed when all resources are preloaded; completed exceptionally if a resource is not found.
+     */
+    public static CompletableFuture<Void> preload(@Nonnull Collection<String> resourceNames) {
+        return ResourceLoader
+                .loadAll(resourceNames, Resources::getBytes)
+                .thenApply(loaded -> null);
+    }
+
+    /**
+     * Read resources in parallel ahead of use as {@link String}s, see {@link #preload(Collection)}.<br>
+     * Contents are put into the content cache when {@code ngoanh2n.contentCache=true},
+     * so later calls of {@link #getContent(String, Charset)} with the same charset do not read the files again.
+     *
+     * @param resourceNames The names of resources.<br>
+     *                      e.g. com/foo/File.properties
+     * @param charset       the charset to decode.
+     * @return A future completed when all resources are preloaded; completed exceptionally if a resource is not found.
+     */
+    public static CompletableFuture<Void> preload(@Nonnull Collection<String> resourceNames, @Nonnull Charset charset) {
+        return ResourceLoader
+                .loadAll(resourceNames, name -> getContent(name, charset))
+                .thenApply(loaded -> null);
+    }
+
+    /**
+     * Read resources as bytes in parallel.<br>
+     * Resources are read on virtual threads if the JVM has them, or on a pool of daemon threads otherwise,
+     * at most {@code ngoanh2n.resourceLoadConcurrency} at the same time (default 16).
+     * The context {@link ClassLoader} of the calling thread is used to find resources.
+     *
+     * @param resourceNames The names of resources.<br>
+     *                      e.g. com/foo/File.png
+     * @return A future of contents by resource name, in the order of names;
+     * completed exceptionally if a resource cannot be read.
+     */
+    public static CompletableFuture<Map<String, byte[]>> loadAllAsync(@Nonnull Collection<String> resourceNames) {
+        return ResourceLoader.loadAll(resourceNames, Resources::getBytes);
+    }
+
+    /**
+     * List names of resources on the classpath which start with a prefix, see {@link ResourceIndex}.
+     *
+     * @param prefix The prefix, e.g. {@code testdata/}.
+     * @return The resource names sorted.
+     */
+    public static List<String> list(@Nonnull String prefix) {
+        return toNames(ResourceIndex.get().list(prefix));
+    }
+
+    /**
+     * List names of resources on the classpath which match a glob, see {@link ResourceIndex#glob(String)}.
+     *
+     * @param glob The glob, e.g. {@code testdata/**.yml}.
+     * @return The resource names sorted.
+     */
+    public static List<String> glob(@Nonnull String glob) {
+        return toNames(ResourceIndex.get().glob(glob));
+    }
+
+    /**
+     * Drop all cached resource resolutions and {@link ResourceIndex}es.<br>
+     * Resolutions are cached per {@link ClassLoader}, including missing resources.
+     * Call it after creating or deleting resources at runtime, or set {@code ngoanh2n.resourceCacheTtl}.
+     */
+    public static void clearCache() {
+        ResourceResolver.clear();
+        ResourceIndex.clear();
+        ContentCache.clear();
+    }
+
+    /**
+     * Get counters of compressed resources read by {@link #getInputStream(String)}, {@link #getContent(String)}
+     * and {@link #getBytes(String)}, see {@link ResourceCodec}.
+     *
+     * @return The {@link CodecStats}.
+     */
+    public static CodecStats getCodecStats() {
+        return ResourceCodecs.stats();
+    }
+
+    /**
+     * Get counters of the content cache of {@link #getContent(String, Charset)}.
+     *
+     * @return The {@link CacheStats}, reset by {@link #clearCache()}.
+     */
+    public static CacheStats getCacheStats() {
+        return ContentCache.stats();
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private static Path toPath(Target target) {
+        if (target.insideJar()) {
+            try {
+                return JarFileSystems.getPath(target.getURL());
+            } catch (IOException e) {
+                String msg = String.format("Open jar of resource [%s]", target.name);
+                log.error(msg);
+                throw new RuntimeError(msg, e);
+            }
+        }
+        return target.getFile().toPath();
+    }
+
+    private static List<String> toNames(List<ResourceIndex.Entry> entries) {
+        List<String> names = new ArrayList<>(entries.size());
+        for (ResourceIndex.Entry entry : entries) {
+            names.add(entry.name());
         }
+        return names;
     }
 
     //===============================================================================//
 
+    /**
+     * Counters of the content cache.
+     *
+     * @param hits      The number of contents served from the cache.
+     * @param misses    The number of contents read because they were not cached or their file had changed.
+     * @param evictions The number of entries evicted to make room for others.
+     * @param size      The number of cached entries.
+     * @param weight    The estimated bytes of cached entries.
+     */
+    public record CacheStats(long hits, long misses, long evictions, long size, long weight) { /**/ }
+
+    /**
+     * Counters of compressed resources, updated when their streams are closed.
+     *
+     * @param resources         The number of compressed resources read.
+     * @param compressedBytes   The bytes read from compressed resources.
+     * @param decompressedBytes The bytes decompressed from them.
+     * @param decodeNanos       The time spent reading and decompressing, in nanoseconds.
+     */
+    public record CodecStats(long resources, long compressedBytes, long decompressedBytes, long decodeNanos) { /**/ }
+
     private static final class Target {
         private final String name;
-        private URL url;
+        private final ResourceResolver.Resolution resolution;
 
         private Target(String name) {
             this.name = name;
-            this.url = getURL();
             this.validateResourceName();
+            this.resolution = ResourceResolver.resolve(name);
         }
 
         private boolean insideJar() {
-            if (url == null) {
-                return false;
-            }
-            return url.toString().contains(".jar!");
+            return resolution.insideJar();
         }
 
         private File getFile() {
-            if (insideJar()) {
-                return new File(url.getFile());
-            } else {
-                File file = findResource();
-                String msg = String.format("Find resource %s", name);
-
-                if (file != null) {
-                    if (file.exists()) {
-                        return file;
-                    }
-                }
-                log.error(msg);
-                throw new RuntimeError(msg);
+            File file = resolution.file();
+            if (file != null) {
+                return file;
             }
+            String msg = String.format("Find resource %s", name);
+            log.error(msg);
+            throw new RuntimeError(msg);
         }
 
         private URL getURL() {
-            if (url == null) {
-                ClassLoader clazzLoader = Thread.currentThread().getContextClassLoader();
-                url = clazzLoader.getResource(name);
-            }
-            return url;
+            return resolution.url();
         }
 
         private InputStream getInputStream() {
@@ -183,40 +524,48 @@ public final class Resources {
             return clazzLoader.getResourceAsStream(name);
         }
 
-        private File findResource() {
-            if (findOnClasspath.getValue()) {
-                return findResourceOnClassPath(name);
-            } else {
-                return findResourceInRootLocation(name);
-            }
+        private boolean exists() {
+            return resolution.file() != null;
         }
 
-        private File findResourceOnClassPath(String name) {
-            ClassLoader clazzLoader = Thread.currentThread().getContextClassLoader();
-            URL url = clazzLoader.getResource(name);
-            return (url == null) ? null : new File(url.getFile());
-        }
-
-        private File findResourceInRootLocation(String name) {
-            AtomicReference<File> arFile = new AtomicReference<>();
-            arFile.set(findResourceInRootLocation(name, "test"));
-
-            if (arFile.get() != null) {
-                return arFile.get();
-            } else {
-                arFile.set(findResourceInRootLocation(name, "main"));
-                if (arFile.get() == null) {
-                    return null;
-                } else {
-                    return arFile.get();
+        private byte[] readBytes() throws IOException {
+            if (!exists()) {
+                try (InputStream decoded = ResourceCodecs.open(name)) {
+                    if (decoded != null) {
+                        return decoded.readAllBytes();
+                    }
+                }
+            }
+            if (insideJar()) {
+                try (InputStream is = getInputStream()) {
+                    return is.readAllBytes();
                 }
             }
+            return Files.readAllBytes(getFile().toPath());
         }
 
-        private File findResourceInRootLocation(String name, String src) {
-            Path resourcesPath = Paths.get("src", src, "resources");
-            Path resourcePath = Paths.get("", name.split("/"));
-            return resourcesPath.resolve(resourcePath).toFile();
+        private ByteBuffer readDirect() throws IOException {
+            URLConnection connection = getURL().openConnection();
+            long length = connection.getContentLengthLong();
+            ByteBuffer buffer = DirectBufferPool.acquire(length >= 0 && length < MAX_BUFFER_SIZE ? (int) length + 1 : 8192);
+
+            try (ReadableByteChannel channel = Channels.newChannel(connection.getInputStream())) {
+                while (channel.read(buffer) >= 0) {
+                    if (!buffer.hasRemaining()) {
+                        if (buffer.limit() >= MAX_BUFFER_SIZE) {
+                            throw new IOException("Resource is too large for a ByteBuffer: " + name);
+                        }
+                        ByteBuffer larger = DirectBufferPool.acquire((int) Math.min(2L * buffer.limit(), MAX_BUFFER_SIZE));
+                        larger.put(buffer.flip());
+                        DirectBufferPool.release(buffer);
+                        buffer = larger;
+                    }
+                }
+                return buffer.flip();
+            } catch (IOException | RuntimeException e) {
+                DirectBufferPool.release(buffer);
+                throw e;
+            }
         }
 
         private void validateResourceName() {
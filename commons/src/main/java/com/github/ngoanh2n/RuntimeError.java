@@ -45,4 +45,28 @@ public class RuntimeError extends RuntimeException {
     public RuntimeError(String message, Throwable cause) {
         super(message, cause);
     }
+
+    /**
+     * Construct a new runtime exception with the specified detail message and cause, optionally without stack trace.
+     *
+     * @param message            the detail message.
+     * @param cause              the cause; {@code null} if nonexistent or unknown.
+     * @param writableStackTrace whether the stack trace should be filled in.
+     */
+    protected RuntimeError(String message, Throwable cause, boolean writableStackTrace) {
+        super(message, cause, false, writableStackTrace);
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Create a runtime exception without stack trace, for expected failures handled as control flow.<br>
+     * Filling in the stack trace is the most expensive part of throwing, and it is useless when the exception is caught nearby.
+     *
+     * @param message the detail message.
+     * @return The {@link RuntimeError} without stack trace and suppressed exceptions.
+     */
+    public static RuntimeError stackless(String message) {
+        return new RuntimeError(message, null, false);
+    }
 }
@@ -1,9 +1,15 @@
 package com.github.ngoanh2n;
 
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
- * Sorted Java Properties.<br><br>
+ * Sorted Java Properties.<br>
+ * Order is kept on every change, so {@link #keySet()}, {@link #entrySet()} and {@link #keys()} are cheap views.<br><br>
  *
  * <em>Repository:</em>
  * <ul>
@@ -16,25 +22,203 @@ import java.util.*;
  */
 @SuppressWarnings("NullableProblems")
 public class SortedProperties extends Properties {
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    private transient ConcurrentSkipListMap<Object, Object> sorted = newSortedMap();
+
     @Override
     public Set<Object> keySet() {
-        return Collections.unmodifiableSet(new TreeSet<>(super.keySet()));
+        return Collections.unmodifiableSet(sorted.keySet());
     }
 
     @Override
     public Set<Map.Entry<Object, Object>> entrySet() {
-        Set<Map.Entry<Object, Object>> set1 = super.entrySet();
-        Set<Map.Entry<Object, Object>> set2 = new LinkedHashSet<>(set1.size());
-        Iterator<Map.Entry<Object, Object>> iterator = set1.stream().sorted(Comparator.comparing(o -> o.getKey().toString())).iterator();
-
-        while (iterator.hasNext()) {
-            set2.add(iterator.next());
-        }
-        return set2;
+        return Collections.unmodifiableSet(sorted.entrySet());
     }
 
     @Override
     public synchronized Enumeration<Object> keys() {
-        return Collections.enumeration(new TreeSet<>(super.keySet()));
+        return Collections.enumeration(sorted.keySet());
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    @Override
+    public synchronized Object put(Object key, Object value) {
+        Object previous = super.put(key, value);
+        sorted.put(key, value);
+        return previous;
+    }
+
+    @Override
+    public synchronized void putAll(Map<?, ?> t) {
+        t.forEach(this::put);
+    }
+
+    @Override
+    public synchronized Object remove(Object key) {
+        Object previous = super.remove(key);
+        sorted.remove(key);
+        return previous;
+    }
+
+    @Override
+    public synchronized boolean remove(Object key, Object value) {
+        return sync(key, super.remove(key, value));
+    }
+
+    @Override
+    public synchronized Object putIfAbsent(Object key, Object value) {
+        return sync(key, super.putIfAbsent(key, value));
+    }
+
+    @Override
+    public synchronized boolean replace(Object key, Object oldValue, Object newValue) {
+        return sync(key, super.replace(key, oldValue, newValue));
+    }
+
+    @Override
+    public synchronized Object replace(Object key, Object value) {
+        return sync(key, super.replace(key, value));
+    }
+
+    @Override
+    public synchronized Object computeIfAbsent(Object key, Function<? super Object, ?> mappingFunction) {
+        return sync(key, super.computeIfAbsent(key, mappingFunction));
+    }
+
+    @Override
+    public synchronized Object computeIfPresent(Object key, BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+        return sync(key, super.computeIfPresent(key, remappingFunction));
+    }
+
+    @Override
+    public synchronized Object compute(Object key, BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+        return sync(key, super.compute(key, remappingFunction));
+    }
+
+    @Override
+    public synchronized Object merge(Object key, Object value, BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+        return sync(key, super.merge(key, value, remappingFunction));
+    }
+
+    @Override
+    public synchronized void replaceAll(BiFunction<? super Object, ? super Object, ?> function) {
+        super.replaceAll(function);
+        sorted.clear();
+        super.forEach(sorted::put);
+    }
+
+    @Override
+    public synchronized void clear() {
+        super.clear();
+        sorted.clear();
+    }
+
+    @Override
+    public synchronized Object clone() {
+        SortedProperties clone = (SortedProperties) super.clone();
+        clone.sorted = newSortedMap();
+        clone.sorted.putAll(sorted);
+        return clone;
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    /**
+     * Write properties in sorted order as {@code key=value} lines, without comments and timestamp.<br>
+     * Keys and values are escaped so that {@link #load(java.io.Reader)} reads them back.
+     * Entries are streamed from the sorted view, no intermediate collection is created.
+     *
+     * @param writer The output character stream writer, it is not closed.
+     * @throws IOException if writing to the writer fails.
+     */
+    public void write(Writer writer) throws IOException {
+        write(writer, false);
+    }
+
+    /**
+     * Write properties in sorted order as {@code key=value} lines, without comments and timestamp.<br>
+     * Like {@link #store(OutputStream, String)}, the ISO 8859-1 encoding is used and other characters are written as Unicode escapes.
+     * Entries are streamed from the sorted view, no intermediate collection is created.
+     *
+     * @param out The output stream, it is not closed.
+     * @throws IOException if writing to the output stream fails.
+     */
+    public void write(OutputStream out) throws IOException {
+        write(new OutputStreamWriter(out, StandardCharsets.ISO_8859_1), true);
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        sorted = newSortedMap();
+        super.forEach(sorted::put);
+    }
+
+    private void write(Writer writer, boolean escUnicode) throws IOException {
+        BufferedWriter bw = (writer instanceof BufferedWriter) ? (BufferedWriter) writer : new BufferedWriter(writer);
+        StringBuilder sb = new StringBuilder();
+
+        for (Map.Entry<Object, Object> entry : sorted.entrySet()) {
+            sb.setLength(0);
+            escape(sb, String.valueOf(entry.getKey()), true, escUnicode);
+            sb.append('=');
+            escape(sb, String.valueOf(entry.getValue()), false, escUnicode);
+            bw.append(sb);
+            bw.newLine();
+        }
+        bw.flush();
+    }
+
+    private <T> T sync(Object key, T result) {
+        Object value = super.get(key);
+        if (value == null) {
+            sorted.remove(key);
+        } else {
+            sorted.put(key, value);
+        }
+        return result;
+    }
+
+    private static ConcurrentSkipListMap<Object, Object> newSortedMap() {
+        return new ConcurrentSkipListMap<>(Comparator.comparing(Object::toString));
+    }
+
+    private static void escape(StringBuilder sb, String value, boolean escapeSpace, boolean escUnicode) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c > 61 && c < 127) {
+                if (c == '\\') {
+                    sb.append('\\');
+                }
+                sb.append(c);
+                continue;
+            }
+            switch (c) {
+                case ' ' -> {
+                    if (i == 0 || escapeSpace) {
+                        sb.append('\\');
+                    }
+                    sb.append(' ');
+                }
+                case '\t' -> sb.append("\\t");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\f' -> sb.append("\\f");
+                case '=', ':', '#', '!' -> sb.append('\\').append(c);
+                default -> {
+                    if (c < 0x0020 || (c > 0x007e && escUnicode)) {
+                        sb.append("\\u")
+                                .append(HEX_DIGITS[(c >> 12) & 0xF])
+                                .append(HEX_DIGITS[(c >> 8) & 0xF])
+                                .append(HEX_DIGITS[(c >> 4) & 0xF])
+                                .append(HEX_DIGITS[c & 0xF]);
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
     }
 }
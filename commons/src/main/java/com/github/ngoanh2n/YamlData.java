@@ -3,14 +3,17 @@ package com.github.ngoanh2n;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.yaml.snakeyaml.Yaml;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.nio.charset.Charset;
+import java.nio.file.Paths;
 import java.util.*;
 
 /**
@@ -198,7 +201,7 @@ public abstract class YamlData<Model extends YamlData<Model>> {
      * {@link RuntimeError} if the file doesn't exist or read multiple object as single object.
      */
     public static Map<String, Object> toMapFromFile(String name) {
-        return toMapFromFile(name, Charset.defaultCharset());
+        return toMapFromFile(name, CharsetDetector.forFile(Paths.get(name)));
     }
 
     /**
@@ -211,8 +214,7 @@ public abstract class YamlData<Model extends YamlData<Model>> {
      * {@link RuntimeError} if the file doesn't exist or read multiple object as single object.
      */
     public static Map<String, Object> toMapFromFile(String name, Charset cs) {
-        InputStream is = getInputStream(name);
-        return toMapFromInputStream(is, cs);
+        return toMap(fileToObject(name, cs));
     }
 
     /**
@@ -224,7 +226,7 @@ public abstract class YamlData<Model extends YamlData<Model>> {
      * {@link RuntimeError} if the file doesn't exist or read multiple object as single object.
      */
     public static Map<String, Object> toMapFromResource(String name) {
-        return toMapFromResource(name, Charset.defaultCharset());
+        return toMapFromResource(name, CharsetDetector.forResource(name));
     }
 
     /**
@@ -250,7 +252,7 @@ public abstract class YamlData<Model extends YamlData<Model>> {
      * {@link RuntimeError } otherwise.
      */
     public static List<Map<String, Object>> toMapsFromFile(String name) {
-        return toMapsFromFile(name, Charset.defaultCharset());
+        return toMapsFromFile(name, CharsetDetector.forFile(Paths.get(name)));
     }
 
     /**
@@ -263,8 +265,7 @@ public abstract class YamlData<Model extends YamlData<Model>> {
      * {@link RuntimeError} otherwise.
      */
     public static List<Map<String, Object>> toMapsFromFile(String name, Charset cs) {
-        InputStream is = getInputStream(name);
-        return toMapsFromInputStream(is, cs);
+        return toMaps(fileToObject(name, cs));
     }
 
     /**
@@ -276,7 +277,7 @@ public abstract class YamlData<Model extends YamlData<Model>> {
      * {@link RuntimeError} otherwise.
      */
     public static List<Map<String, Object>> toMapsFromResource(String name) {
-        return toMapsFromResource(name, Charset.defaultCharset());
+        return toMapsFromResource(name, CharsetDetector.forResource(name));
     }
 
     /**
@@ -296,7 +297,14 @@ public abstract class YamlData<Model extends YamlData<Model>> {
     //-------------------------------------------------------------------------------//
 
     private static Map<String, Object> toMapFromInputStream(InputStream is, Charset cs) {
-        Object object = inputStreamToObject(is, cs);
+        return toMap(inputStreamToObject(is, cs));
+    }
+
+    private static List<Map<String, Object>> toMapsFromInputStream(InputStream is, Charset cs) {
+        return toMaps(inputStreamToObject(is, cs));
+    }
+
+    private static Map<String, Object> toMap(Object object) {
         if (object instanceof LinkedHashMap) {
             return (Map<String, Object>) object;
         } else {
@@ -304,8 +312,7 @@ public abstract class YamlData<Model extends YamlData<Model>> {
         }
     }
 
-    private static List<Map<String, Object>> toMapsFromInputStream(InputStream is, Charset cs) {
-        Object object = inputStreamToObject(is, cs);
+    private static List<Map<String, Object>> toMaps(Object object) {
         if (object instanceof ArrayList) {
             return (List<Map<String, Object>>) object;
         } else {
@@ -321,11 +328,25 @@ public abstract class YamlData<Model extends YamlData<Model>> {
         }
     }
 
+    private static Object fileToObject(String fileName, Charset cs) {
+        if (ConfigSnapshot.isEnabled()) {
+            File file = new File(fileName);
+            if (!file.isFile()) {
+                throw new RuntimeError(String.format("File not found -> %s", fileName));
+            }
+            return ConfigSnapshot.readYaml(file, cs, is -> inputStreamToObject(is, cs));
+        }
+        return inputStreamToObject(getInputStream(fileName), cs);
+    }
+
     private static Object inputStreamToObject(InputStream is, Charset cs) {
-        InputStreamReader isr = new InputStreamReader(is, cs);
-        Iterator<Object> iterator = new Yaml().loadAll(isr).iterator();
-        if (iterator.hasNext()) return iterator.next();
-        throw new RuntimeError("Yaml content is empty");
+        try (InputStreamReader isr = new InputStreamReader(is, cs)) {
+            Iterator<Object> iterator = new Yaml().loadAll(isr).iterator();
+            if (iterator.hasNext()) return iterator.next();
+            throw new RuntimeError("Yaml content is empty");
+        } catch (IOException e) {
+            throw new RuntimeError(e);
+        }
     }
 
     //-------------------------------------------------------------------------------//
@@ -0,0 +1,87 @@
+package com.github.ngoanh2n;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author ngoanh2n
+ */
+public class BindingTest {
+    private static final String PREFIX = "BindingTest";
+
+    @Test
+    void bindRecord() {
+        System.setProperty(PREFIX + ".name", "chrome");
+        System.setProperty(PREFIX + ".headless", "true");
+        System.setProperty(PREFIX + ".timeout", "30s");
+        Property.invalidateAll();
+
+        Binding<Browser> binding = Binding.of(Browser.class, PREFIX);
+        Browser browser = binding.get();
+        Assertions.assertEquals(new Browser("chrome", true, 0, Duration.ofSeconds(30)), browser);
+        Assertions.assertSame(browser, binding.get());
+
+        Property.ofInteger(PREFIX + ".retries").setValue(3);
+        Assertions.assertEquals(3, binding.get().retries());
+    }
+
+    @Test
+    void bindInterface() {
+        ConfigStack config = new ConfigStack()
+                .addSystemProperties()
+                .addDefaults(Map.of(PREFIX + ".name", "firefox", PREFIX + ".args", "--headless, --incognito"));
+
+        Binding<Options> binding = Binding.of(Options.class, PREFIX, config);
+        Options options = binding.get();
+        Assertions.assertEquals("firefox", options.name());
+        Assertions.assertEquals(List.of("--headless", "--incognito"), options.args());
+        Assertions.assertEquals(1024, options.width());
+        Assertions.assertEquals(options, options);
+        Assertions.assertTrue(options.toString().contains(PREFIX + ".name=firefox"));
+
+        Property.ofString(PREFIX + ".width").setValue("800");
+        Assertions.assertEquals(800, binding.get().width());
+    }
+
+    @Test
+    void bindPropertiesFile() {
+        PropertiesFile propertiesFile = new PropertiesFile("com/github/ngoanh2n/PropFileTest/File3.properties");
+        Binding<Names> binding = Binding.of(Names.class, "PropertiesFile", propertiesFile);
+        Assertions.assertEquals("PropertiesFile.", binding.getPrefix());
+        Assertions.assertEquals(PropertiesFileTest.TestEnum.ENUM2, binding.get().PropertyName2());
+    }
+
+    @Test
+    void unsupportedType() {
+        Assertions.assertThrows(RuntimeError.class, () -> Binding.of(String.class, PREFIX));
+    }
+
+    @AfterEach
+    void cleanup() {
+        for (String name : List.of("name", "headless", "timeout", "retries", "width")) {
+            System.clearProperty(PREFIX + "." + name);
+        }
+        Property.invalidateAll();
+    }
+
+    //-------------------------------------------------------------------------------//
+
+    record Browser(String name, boolean headless, int retries, Duration timeout) { /**/ }
+
+    record Names(PropertiesFileTest.TestEnum PropertyName2) { /**/ }
+
+    interface Options {
+        String name();
+
+        List<String> args();
+
+        default int width() {
+            return 1024;
+        }
+    }
+}
@@ -1,8 +1,22 @@
 package com.github.ngoanh2n;
 
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+
 /**
  * @author ngoanh2n
  */
@@ -41,8 +55,84 @@ public class CommonsTest {
         Assertions.assertEquals(ASSIGNED_VALUE, value3);
     }
 
+    @Test
+    void buildEnum() {
+        Assertions.assertEquals(Optional.of(Browser.CHROME), Commons.buildEnum(Browser.class, "CHROME"));
+        Assertions.assertEquals(Optional.of(Browser.CHROME), Commons.buildEnum(Browser.class, "gc"));
+        Assertions.assertEquals(Optional.of(Browser.FIREFOX), Commons.buildEnum(Browser.class, "ff"));
+        Assertions.assertEquals(Optional.empty(), Commons.buildEnum(Browser.class, "chrome"));
+        Assertions.assertEquals(Optional.of(Browser.CHROME), Commons.buildEnum(Browser.class, "chrome", true));
+        Assertions.assertEquals(Optional.of(Browser.FIREFOX), Commons.buildEnum(Browser.class, "FF", true));
+        Assertions.assertEquals(Optional.empty(), Commons.buildEnum(Browser.class, "edge", true));
+    }
+
+    @Test
+    void writePropsIfChanged() throws IOException {
+        Path path = Files.createTempFile("CommonsTest", ".properties");
+        File file = path.toFile();
+        file.deleteOnExit();
+
+        Properties props = new Properties();
+        props.setProperty("browser", "chrome");
+        props.setProperty("headless", "true");
+        Assertions.assertTrue(Commons.writePropsIfChanged(props, file));
+        Assertions.assertEquals("browser=chrome" + System.lineSeparator() + "headless=true" + System.lineSeparator(), Files.readString(path));
+
+        FileTime lastModified = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(path, lastModified);
+        Assertions.assertFalse(Commons.writePropsIfChanged(props, file));
+        Assertions.assertEquals(lastModified, Files.getLastModifiedTime(path));
+
+        props.setProperty("headless", "false");
+        Assertions.assertTrue(Commons.writePropsIfChanged(props, file, true));
+        Assertions.assertEquals("false", Commons.readProps(file, "UTF-8").getProperty("headless"));
+    }
+
+    @Test
+    void writePropsIfChangedKeepsPermissions() throws IOException {
+        Path directory = Files.createTempDirectory("CommonsTest");
+        Path created = Files.createFile(directory.resolve("created.properties"));
+        Path path = directory.resolve("environment.properties");
+        Properties props = new Properties();
+        props.setProperty("browser", "chrome");
+
+        try {
+            Assumptions.assumeTrue(Files.getFileAttributeView(path, PosixFileAttributeView.class) != null);
+            Commons.writePropsIfChanged(props, path.toFile());
+            Assertions.assertEquals(Files.getPosixFilePermissions(created), Files.getPosixFilePermissions(path));
+
+            Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r-----");
+            Files.setPosixFilePermissions(path, permissions);
+            props.setProperty("browser", "firefox");
+            Commons.writePropsIfChanged(props, path.toFile());
+            Assertions.assertEquals(permissions, Files.getPosixFilePermissions(path));
+        } finally {
+            Files.deleteIfExists(path);
+            Files.delete(created);
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    void readPropsAutoCharset() throws IOException {
+        Path path = Files.createTempFile("CommonsTest", ".properties");
+        File file = path.toFile();
+        file.deleteOnExit();
+        Files.writeString(path, "greeting=Xin ch\u00e0o", StandardCharsets.UTF_8);
+
+        Assertions.assertEquals("UTF-8", Commons.detectCharset(file));
+        Assertions.assertEquals("Xin ch\u00e0o", Commons.readProps(file, "auto").getProperty("greeting"));
+    }
+
     //-------------------------------------------------------------------------------//
 
+    enum Browser {
+        @EnumAlias({"gc", "google-chrome"})
+        CHROME,
+        @EnumAlias("ff")
+        FIREFOX
+    }
+
     static class ParentClass {
         private final static String field3 = DEFAULT_VALUE;
         private final String field1 = DEFAULT_VALUE;
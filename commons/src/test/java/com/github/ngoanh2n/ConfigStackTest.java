@@ -0,0 +1,68 @@
+package com.github.ngoanh2n;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Layers in order: System property, Environment variable, Properties file, Defaults
+ *
+ * @author ngoanh2n
+ */
+public class ConfigStackTest {
+    private static final String PROP_NAME1 = "PropertiesFile.PropertyName1";
+    private static final String PROP_NAME2 = "PropertiesFile.PropertyName2";
+    private static final String PROP_NAME3 = "ConfigStack.PropertyName3";
+
+    private final ConfigStack config = new ConfigStack()
+            .addSystemProperties()
+            .addEnvironment()
+            .addPropertiesFile(new PropertiesFile("com/github/ngoanh2n/PropFileTest/File3.properties"))
+            .addDefaults(Map.of(PROP_NAME2, "ENUM1", PROP_NAME3, "10"));
+
+    @Test
+    void precedence() {
+        Assertions.assertEquals("ENUM2", config.getProperty(PROP_NAME2));
+        Assertions.assertEquals(10, config.getProperty(Property.ofInteger(PROP_NAME3)));
+        Assertions.assertEquals(PropertiesFileTest.TestEnum.ENUM2, config.getProperty(new Property<>(PROP_NAME2, PropertiesFileTest.TestEnum.class)));
+        Assertions.assertNull(config.getProperty("ConfigStack.absent"));
+
+        Property.ofString(PROP_NAME1).setValue("ENUM2");
+        Assertions.assertEquals("ENUM2", config.getProperty(PROP_NAME1));
+    }
+
+    @Test
+    void provenance() {
+        ConfigStack.Provenance provenance = config.getProvenance(PROP_NAME2).orElseThrow();
+        Assertions.assertEquals("file:com/github/ngoanh2n/PropFileTest/File3.properties", provenance.layer());
+        Assertions.assertEquals(List.of("defaults"), provenance.shadowed());
+
+        System.setProperty(PROP_NAME2, "ENUM1");
+        config.refresh();
+
+        provenance = config.getProvenance(PROP_NAME2).orElseThrow();
+        Assertions.assertEquals("system", provenance.layer());
+        Assertions.assertEquals("ENUM1", provenance.value());
+        Assertions.assertEquals(2, provenance.shadowed().size());
+    }
+
+    @Test
+    void nullValue() {
+        Property.ofInteger(PROP_NAME3).setValue(null);
+        config.refresh();
+
+        Assertions.assertEquals("defaults", config.getProvenance(PROP_NAME3).orElseThrow().layer());
+        Assertions.assertEquals(10, config.getProperty(Property.ofInteger(PROP_NAME3)));
+    }
+
+    @AfterEach
+    void cleanup() {
+        System.clearProperty(PROP_NAME1);
+        System.clearProperty(PROP_NAME2);
+        System.clearProperty(PROP_NAME3);
+        Property.invalidateAll();
+    }
+}
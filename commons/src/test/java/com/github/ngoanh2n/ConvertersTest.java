@@ -0,0 +1,73 @@
+package com.github.ngoanh2n;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * @author ngoanh2n
+ */
+public class ConvertersTest {
+    enum TestEnum {
+        ENUM1, ENUM2
+    }
+
+    @Test
+    void builtIns() {
+        Assertions.assertEquals(10, Converters.convert(Integer.class, "10"));
+        Assertions.assertEquals(10, Converters.convert(int.class, "10"));
+        Assertions.assertEquals(true, Converters.convert(Boolean.class, "true"));
+        Assertions.assertEquals(Paths.get("build", "tmp"), Converters.convert(Path.class, "build/tmp"));
+        Assertions.assertEquals(TestEnum.ENUM2, Converters.convert(TestEnum.class, "ENUM2"));
+        Assertions.assertNull(Converters.convert(TestEnum.class, "ENUM3"));
+    }
+
+    @Test
+    void durations() {
+        Assertions.assertEquals(Duration.ofSeconds(30), Converters.convert(Duration.class, "PT30S"));
+        Assertions.assertEquals(Duration.ofSeconds(30), Converters.convert(Duration.class, "30s"));
+        Assertions.assertEquals(Duration.ofMillis(500), Converters.convert(Duration.class, "500ms"));
+        Assertions.assertEquals(Duration.ofMillis(500), Converters.convert(Duration.class, "500"));
+        Assertions.assertEquals(Duration.ofMinutes(5), Converters.convert(Duration.class, "5m"));
+        Assertions.assertThrows(RuntimeError.class, () -> Converters.convert(Duration.class, " "));
+        Assertions.assertThrows(RuntimeError.class, () -> Converters.convert(Duration.class, "5x"));
+    }
+
+    @Test
+    void collections() {
+        Assertions.assertEquals(List.of("a", "b", "c"), Converters.convert(List.class, "a, b ,c"));
+        Assertions.assertArrayEquals(new int[]{1, 2, 3}, Converters.convert(int[].class, "1,2,3"));
+        Assertions.assertArrayEquals(new String[]{"a", "b"}, Converters.convert(String[].class, "a,b"));
+        Assertions.assertArrayEquals(new TestEnum[]{TestEnum.ENUM1, TestEnum.ENUM2}, Converters.convert(TestEnum[].class, "ENUM1,ENUM2"));
+    }
+
+    @Test
+    void register() {
+        Assertions.assertThrows(RuntimeError.class, () -> Converters.find(StringBuilder.class));
+
+        Converters.register(StringBuilder.class, StringBuilder::new);
+        Property<StringBuilder> property = new Property<>("ConvertersTest.builder", StringBuilder.class);
+        property.setValue(new StringBuilder("value"));
+        Assertions.assertEquals("value", property.getValue().toString());
+        property.clearValue();
+    }
+
+    @Test
+    void providers() {
+        Assertions.assertEquals("value", Converters.convert(StringBuffer.class, "value").toString());
+    }
+
+    //===============================================================================//
+
+    public static class TestProvider implements ConverterProvider {
+        @Override
+        public void register(Converters converters) {
+            Converter<String> strings = Converters.find(String.class);
+            converters.add(StringBuffer.class, value -> new StringBuffer(strings.convert(value)));
+        }
+    }
+}
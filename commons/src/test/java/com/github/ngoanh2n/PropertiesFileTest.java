@@ -2,6 +2,17 @@ package com.github.ngoanh2n;
 
 import org.junit.jupiter.api.*;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.*;
+
 /**
  * System property (A), Properties file (B), Default value (C)
  *
@@ -174,6 +185,34 @@ public class PropertiesFileTest {
         }
     }
 
+    @Nested
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class WithFileHasPrimitive {
+        PropertiesFile propertiesFile = new PropertiesFile("com/github/ngoanh2n/PropFileTest/File5.properties");
+
+        @Test
+        @DisplayName("{A: NO, B: YES, C: YES}")
+        void test2() {
+            Assertions.assertEquals(30, propertiesFile.getProperty(new IntProperty("PropertiesFile.Timeout", 10)));
+            Assertions.assertEquals(4294967296L, propertiesFile.getProperty(new LongProperty("PropertiesFile.Size")));
+            Assertions.assertEquals(0.75, propertiesFile.getProperty(new DoubleProperty("PropertiesFile.Ratio", 0.5)));
+            Assertions.assertTrue(propertiesFile.getProperty(new BooleanProperty("PropertiesFile.Headless")));
+        }
+
+        @Test
+        @DisplayName("{A: YES, B: YES, C: YES}")
+        void test4() {
+            System.setProperty("PropertiesFile.Timeout", "60");
+            Assertions.assertEquals(60, propertiesFile.getProperty(new IntProperty("PropertiesFile.Timeout", 10)));
+            Assertions.assertEquals(10, propertiesFile.getProperty(new IntProperty("PropertiesFile.Absent", 10)));
+        }
+
+        @AfterAll
+        void cleanup() {
+            System.clearProperty("PropertiesFile.Timeout");
+        }
+    }
+
     @Nested
     @TestInstance(TestInstance.Lifecycle.PER_CLASS)
     class WithFileToSystem {
@@ -186,10 +225,248 @@ public class PropertiesFileTest {
             Assertions.assertEquals(PROP_VALUE4, System.getProperty(PROP_NAME4));
         }
 
+        @Test
+        @DisplayName("Copy of properties")
+        void copy() {
+            Properties properties = propertiesFile.getProperties();
+            properties.setProperty("PropertiesFile.Copy", "changed");
+            Assertions.assertNotSame(properties, propertiesFile.getProperties());
+            Assertions.assertNull(propertiesFile.getProperties().getProperty("PropertiesFile.Copy"));
+        }
+
         @AfterAll
         void cleanup() {
             System.clearProperty(PROP_NAME4);
         }
     }
-}
 
+    @Nested
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class WithFileConcurrently {
+        PropertiesFile propertiesFile = new PropertiesFile("com/github/ngoanh2n/PropFileTest/File3.properties");
+
+        @Test
+        @DisplayName("{A: NO, B: YES, C: YES} x 32 threads")
+        void test() throws Exception {
+            int threads = 32;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Boolean>> futures = new ArrayList<>();
+
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    Property<TestEnum> property = new Property<>(PROP_NAME2, TestEnum.class, TestEnum.ENUM1);
+                    for (int j = 0; j < 10_000; j++) {
+                        if (j % 1_000 == 0) {
+                            propertiesFile.reload();
+                        }
+                        if (propertiesFile.getProperty(property) != TestEnum.ENUM2) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            start.countDown();
+
+            for (Future<Boolean> future : futures) {
+                Assertions.assertTrue(future.get(30, TimeUnit.SECONDS));
+            }
+            executor.shutdownNow();
+        }
+    }
+
+    @Nested
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class WithFileWatched {
+        @Test
+        @DisplayName("{A: NO, B: CHANGED, C: NO}")
+        void test() throws IOException, InterruptedException {
+            Path path = Files.createTempFile("PropertiesFileTest", ".properties");
+            Files.writeString(path, PROP_NAME1 + "=" + PROP_VALUE1);
+
+            PropertiesFile propertiesFile = new PropertiesFile(path.toFile());
+            Assertions.assertEquals(PROP_VALUE1, propertiesFile.getProperty(PROP_NAME1));
+
+            try (PropertiesFileWatcher watcher = propertiesFile.watch(Duration.ofMillis(50))) {
+                Files.writeString(path, PROP_NAME1 + "=" + PROP_VALUE2);
+                long deadline = System.currentTimeMillis() + 30_000;
+
+                while (watcher.getReloadCount() == 0 && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(50);
+                }
+                Assertions.assertEquals(PROP_VALUE2, propertiesFile.getProperty(PROP_NAME1));
+                Assertions.assertTrue(watcher.getLastReloadLatency().compareTo(watcher.getLastParseTime()) >= 0);
+            } finally {
+                Files.deleteIfExists(path);
+            }
+        }
+
+        @Test
+        @DisplayName("To System, CHANGED")
+        void toSystem() throws IOException, InterruptedException {
+            Path path = Files.createTempFile("PropertiesFileTest", ".properties");
+            Files.writeString(path, "PropertiesFile.Watched=" + PROP_VALUE1 + "\nPropertiesFile.Removed=" + PROP_VALUE1);
+
+            PropertiesFile propertiesFile = new PropertiesFile(path.toFile(), true);
+            Assertions.assertEquals(PROP_VALUE1, System.getProperty("PropertiesFile.Watched"));
+
+            try (PropertiesFileWatcher watcher = propertiesFile.watch(Duration.ofMillis(50))) {
+                Files.writeString(path, "PropertiesFile.Watched=" + PROP_VALUE2);
+                long deadline = System.currentTimeMillis() + 30_000;
+
+                while (watcher.getReloadCount() == 0 && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(50);
+                }
+                Assertions.assertEquals(PROP_VALUE2, propertiesFile.getProperty("PropertiesFile.Watched"));
+                Assertions.assertEquals(PROP_VALUE2, System.getProperty("PropertiesFile.Watched"));
+                Assertions.assertNull(System.getProperty("PropertiesFile.Removed"));
+                Assertions.assertEquals(1, propertiesFile.getAssignedCount());
+            } finally {
+                System.clearProperty("PropertiesFile.Watched");
+                System.clearProperty("PropertiesFile.Removed");
+                Files.deleteIfExists(path);
+            }
+        }
+
+        @Test
+        @DisplayName("{A: NO, B: CYCLE then CHANGED, C: NO}")
+        void failedReload() throws IOException, InterruptedException {
+            Path path = Files.createTempFile("PropertiesFileTest", ".properties");
+            Files.writeString(path, PROP_NAME1 + "=" + PROP_VALUE1);
+
+            PropertiesFile propertiesFile = new PropertiesFile(path.toFile());
+            try (PropertiesFileWatcher watcher = propertiesFile.watch(Duration.ofMillis(50))) {
+                Files.writeString(path, "a=${b}\nb=${a}\n" + PROP_NAME1 + "=" + PROP_VALUE2);
+                Thread.sleep(500);
+                Assertions.assertEquals(PROP_VALUE1, propertiesFile.getProperty(PROP_NAME1));
+
+                Files.writeString(path, PROP_NAME1 + "=" + PROP_VALUE3);
+                long deadline = System.currentTimeMillis() + 30_000;
+                while (!PROP_VALUE3.equals(propertiesFile.getProperty(PROP_NAME1)) && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(50);
+                }
+                Assertions.assertEquals(PROP_VALUE3, propertiesFile.getProperty(PROP_NAME1));
+                Assertions.assertEquals(1, watcher.getReloadCount());
+            } finally {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Nested
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class WithFileSnapshot {
+        @Test
+        @DisplayName("{A: NO, B: SNAPSHOT, C: NO}")
+        void test() throws IOException {
+            Path dir = Files.createTempDirectory("PropertiesFileTest");
+            Path path = dir.resolve("snapshot.properties");
+            Files.writeString(path, PROP_NAME1 + "=" + PROP_VALUE1 + "\n" + PROP_NAME2 + " = caf\\u00e9");
+            System.setProperty("ngoanh2n.configSnapshot", "true");
+            System.setProperty("ngoanh2n.configSnapshotDir", dir.resolve("snapshots").toString());
+
+            try {
+                PropertiesFile propertiesFile = new PropertiesFile(path.toFile());
+                Assertions.assertEquals(PROP_VALUE1, propertiesFile.getProperty(PROP_NAME1));
+                Assertions.assertEquals(1, Files.list(dir.resolve("snapshots")).count());
+
+                propertiesFile = new PropertiesFile(path.toFile());
+                Assertions.assertEquals(PROP_VALUE1, propertiesFile.getProperty(PROP_NAME1));
+                Assertions.assertEquals("caf\u00e9", propertiesFile.getProperty(PROP_NAME2));
+
+                Path snapshot = Files.list(dir.resolve("snapshots")).findFirst().orElseThrow();
+                ByteBuffer corrupted = ByteBuffer.wrap(Files.readAllBytes(snapshot));
+                int payload = 23 + corrupted.getShort(21);
+                corrupted.putInt(payload + 4, Integer.MAX_VALUE);
+                Files.write(snapshot, corrupted.array());
+                propertiesFile = new PropertiesFile(path.toFile());
+                Assertions.assertEquals("caf\u00e9", propertiesFile.getProperty(PROP_NAME2));
+
+                Files.writeString(path, PROP_NAME1 + "=" + PROP_VALUE2);
+                propertiesFile.reload();
+                Assertions.assertEquals(PROP_VALUE2, propertiesFile.getProperty(PROP_NAME1));
+                Assertions.assertNull(propertiesFile.getProperty(PROP_NAME2));
+            } finally {
+                System.clearProperty("ngoanh2n.configSnapshot");
+                System.clearProperty("ngoanh2n.configSnapshotDir");
+            }
+        }
+    }
+
+    @Nested
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class WithFilePlaceholder {
+        @Test
+        @DisplayName("{A: YES, B: PLACEHOLDER, C: NO}")
+        void test() throws IOException {
+            Path path = Files.createTempFile("PropertiesFileTest", ".properties");
+            Files.writeString(path, String.join("\n",
+                    "base.dir=/opt/${app.name}",
+                    "app.name=commons",
+                    "app.log=${base.dir}/logs/${app.version}",
+                    "app.home=${env:HOME}",
+                    "app.missing=${env:NGOANH2N_ABSENT}"));
+            System.setProperty("app.version", "1.0");
+
+            try {
+                PropertiesFile propertiesFile = new PropertiesFile(path.toFile());
+                Assertions.assertEquals("/opt/commons/logs/1.0", propertiesFile.getProperty("app.log"));
+                Assertions.assertEquals(Objects.requireNonNullElse(System.getenv("HOME"), "${env:HOME}"), propertiesFile.getProperty("app.home"));
+                Assertions.assertEquals("${env:NGOANH2N_ABSENT}", propertiesFile.getProperty("app.missing"));
+                Assertions.assertEquals("/opt/commons", propertiesFile.getProperties().getProperty("base.dir"));
+
+                System.setProperty("app.url", "http://${app.host}:${app.port}");
+                System.setProperty("app.host", "localhost");
+                System.setProperty("app.port", "8080");
+                Assertions.assertEquals("http://localhost:8080", propertiesFile.getProperty("app.url"));
+                Assertions.assertEquals(8080, propertiesFile.getProperty(new IntProperty("app.port")));
+                System.setProperty("app.port", "9090");
+                Assertions.assertEquals("http://localhost:9090", propertiesFile.getProperty("app.url"));
+
+                Files.writeString(path, "a=${b}\nb=${c}\nc=${a}");
+                RuntimeError error = Assertions.assertThrows(RuntimeError.class, () -> new PropertiesFile(path.toFile()));
+                Assertions.assertTrue(error.getMessage().contains("Circular"));
+            } finally {
+                System.clearProperty("app.version");
+                System.clearProperty("app.url");
+                System.clearProperty("app.host");
+                System.clearProperty("app.port");
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Nested
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class WithFileToSystemChangedOnly {
+        @Test
+        @DisplayName("To System, absent only")
+        void test() throws IOException {
+            Path path = Files.createTempFile("PropertiesFileTest", ".properties");
+            StringBuilder content = new StringBuilder();
+            for (int i = 0; i < 1000; i++) {
+                content.append("PropertiesFile.Bulk").append(i).append("=value").append(i).append('\n');
+            }
+            Files.writeString(path, content);
+            System.setProperty("PropertiesFile.Bulk0", "passed");
+
+            try {
+                PropertiesFile propertiesFile = new PropertiesFile(path.toFile(), true);
+                Assertions.assertEquals(999, propertiesFile.getAssignedCount());
+                Assertions.assertTrue(propertiesFile.getLastAssignTime().toNanos() > 0);
+                Assertions.assertEquals("passed", System.getProperty("PropertiesFile.Bulk0"));
+                Assertions.assertEquals("value999", System.getProperty("PropertiesFile.Bulk999"));
+
+                propertiesFile.reload();
+                Assertions.assertEquals(0, propertiesFile.getAssignedCount());
+            } finally {
+                for (int i = 0; i < 1000; i++) {
+                    System.clearProperty("PropertiesFile.Bulk" + i);
+                }
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
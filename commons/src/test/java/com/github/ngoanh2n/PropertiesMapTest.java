@@ -0,0 +1,68 @@
+package com.github.ngoanh2n;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * @author ngoanh2n
+ */
+public class PropertiesMapTest {
+    private static final String CONTENT = String.join("\n",
+            "# Comment line",
+            "! Another comment \\",
+            "key1=value1",
+            "  key2 = value2  ",
+            "key3:value3",
+            "key4 value4",
+            "key\\ 5=value\\=5",
+            "key6=multi \\",
+            "     line \\\r\n     value",
+            "key7=\\u0041\\u00e9\\t\\n",
+            "key8",
+            "key9=Tiếng Việt",
+            "key1=override",
+            "",
+            "   ",
+            "key10=\\\\");
+
+    @Test
+    void sameAsProperties() throws IOException {
+        Properties expected = new Properties();
+        expected.load(new StringReader(CONTENT));
+
+        byte[] bytes = CONTENT.getBytes(StandardCharsets.UTF_8);
+        PropertiesMap map = PropertiesMap.read(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8, false);
+
+        Assertions.assertEquals(expected.size(), map.size());
+        Assertions.assertEquals(expected, map.toProperties());
+        Assertions.assertEquals("override", map.get("key1"));
+        Assertions.assertEquals("", map.get("key8"));
+    }
+
+    @Test
+    void largeFile() throws IOException {
+        Path path = Files.createTempFile("PropertiesMapTest", ".properties");
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            content.append("locale.message.").append(i).append(" = Message number ").append(i).append('\n');
+        }
+        Files.writeString(path, content);
+
+        try {
+            PropertiesMap map = PropertiesMap.read(path.toFile(), StandardCharsets.UTF_8, true);
+            Assertions.assertEquals(100_000, map.size());
+            Assertions.assertEquals("Message number 99999", map.get("locale.message.99999"));
+            Assertions.assertNull(map.get("locale.message.100000"));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
@@ -51,6 +51,110 @@ public class PropertyTest {
         Assertions.assertEquals(DEFAULT_VALUE, property.getDefaultValue());
     }
 
+    @Test
+    void memoizedValue() {
+        Property<Long> longProperty = Property.ofLong(NAME + ".long");
+        longProperty.setValue(1024L);
+
+        Long value = longProperty.getValue();
+        Assertions.assertSame(value, longProperty.getValue());
+
+        System.setProperty(NAME + ".long", "2048");
+        Assertions.assertEquals(2048L, longProperty.getValue());
+
+        Long memoized = longProperty.getValue();
+        Property.invalidateAll();
+        Assertions.assertNotSame(memoized, longProperty.getValue());
+        Assertions.assertEquals(memoized, longProperty.getValue());
+
+        longProperty.clearValue();
+        Assertions.assertNull(Property.ofLong(NAME + ".long").getValue());
+
+        Property<String> property = Property.ofString(NAME);
+        property.setValue(ASSIGNED_VALUE);
+        Assertions.assertEquals(ASSIGNED_VALUE, property.getValue());
+    }
+
+    @Test
+    void writeKeepsOtherMemos() {
+        Property<Long> longProperty = Property.ofLong(NAME + ".long");
+        longProperty.setValue(1024L);
+        Long memoized = longProperty.getValue();
+        long generation = Property.generation();
+
+        Property<String> other = Property.ofString(NAME + ".other");
+        other.setValue("other");
+        Assertions.assertEquals(generation, Property.generation());
+        Assertions.assertSame(memoized, longProperty.getValue());
+
+        other.clearValue();
+        longProperty.clearValue();
+
+        Property<String> property = Property.ofString(NAME);
+        property.setValue(ASSIGNED_VALUE);
+        Assertions.assertEquals(ASSIGNED_VALUE, property.getValue());
+    }
+
+    @Test
+    void primitiveValue() {
+        IntProperty intProperty = new IntProperty(NAME + ".int", 10);
+        Assertions.assertEquals(10, intProperty.getAsInt());
+
+        intProperty.setValue(20);
+        Assertions.assertEquals(20, intProperty.getAsInt());
+        Assertions.assertEquals(20, intProperty.getValue());
+        Assertions.assertEquals(10, intProperty.getDefaultAsInt());
+
+        System.setProperty(NAME + ".int", "30");
+        Assertions.assertEquals(30, intProperty.getAsInt());
+
+        intProperty.clearValue();
+        Assertions.assertEquals(10, intProperty.getAsInt());
+        Assertions.assertEquals(0L, new LongProperty(NAME + ".long").getAsLong());
+        Assertions.assertEquals(0.5, new DoubleProperty(NAME + ".double", 0.5).getAsDouble());
+        Assertions.assertFalse(new BooleanProperty(NAME + ".boolean").getAsBoolean());
+
+        IntProperty noDefault = new IntProperty(NAME + ".int");
+        Assertions.assertNull(noDefault.getDefaultValue());
+        Assertions.assertNull(noDefault.getValue());
+        Assertions.assertEquals(0, noDefault.getAsInt());
+        Assertions.assertNull(new LongProperty(NAME + ".long").getValue());
+        Assertions.assertNull(new BooleanProperty(NAME + ".boolean").getDefaultValue());
+
+        Property<String> property = Property.ofString(NAME);
+        property.setValue(ASSIGNED_VALUE);
+        Assertions.assertEquals(ASSIGNED_VALUE, property.getValue());
+    }
+
+    @Test
+    void placeholderValue() {
+        Property<String> home = Property.ofString(NAME + ".home");
+        home.setValue("/opt/commons");
+
+        IntProperty port = new IntProperty(NAME + ".port");
+        port.setValue(8080);
+
+        Property<String> url = Property.ofString(NAME + ".url");
+        url.setValue("file:${" + NAME + ".home}/app:${" + NAME + ".port}");
+        Assertions.assertEquals("file:/opt/commons/app:8080", url.getValue());
+
+        System.setProperty(NAME + ".timeout", "${" + NAME + ".port}");
+        IntProperty timeout = new IntProperty(NAME + ".timeout");
+        Assertions.assertEquals(8080, timeout.getAsInt());
+
+        port.setValue(9090);
+        Assertions.assertEquals(9090, timeout.getAsInt());
+
+        home.clearValue();
+        port.clearValue();
+        url.clearValue();
+        System.clearProperty(NAME + ".timeout");
+
+        Property<String> property = Property.ofString(NAME);
+        property.setValue(ASSIGNED_VALUE);
+        Assertions.assertEquals(ASSIGNED_VALUE, property.getValue());
+    }
+
     @AfterEach
     void clearProperty() {
         Property<String> property = Property.ofString(NAME);
@@ -2,6 +2,32 @@ package com.github.ngoanh2n;
 
 import org.junit.jupiter.api.*;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.GZIPOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 /**
  * @author ngoanh2n
  */
@@ -34,4 +60,387 @@ public class ResourcesTest {
     void getContent() {
         Assertions.assertNotNull(Resources.getContent(valid));
     }
+
+    @Test
+    @Order(5)
+    void cache() {
+        Assertions.assertSame(Resources.getFile(valid), Resources.getFile(valid));
+        Assertions.assertThrows(RuntimeError.class, () -> Resources.getFile(invalid));
+        Assertions.assertThrows(RuntimeError.class, () -> Resources.getFile(invalid));
+
+        File file = Resources.getFile(valid);
+        Resources.clearCache();
+        Assertions.assertNotSame(file, Resources.getFile(valid));
+        Assertions.assertEquals(file, Resources.getFile(valid));
+
+        System.setProperty("ngoanh2n.resourceCacheTtl", "0");
+        try {
+            Assertions.assertNotSame(Resources.getFile(valid), Resources.getFile(valid));
+        } finally {
+            System.clearProperty("ngoanh2n.resourceCacheTtl");
+        }
+    }
+
+    @Test
+    @Order(6)
+    void getBytes() {
+        byte[] bytes = Resources.getBytes(valid);
+        Assertions.assertEquals(Resources.getContent(valid, StandardCharsets.UTF_8), new String(bytes, StandardCharsets.UTF_8));
+
+        ByteBuffer buffer = Resources.getByteBuffer(valid);
+        Assertions.assertEquals(bytes.length, buffer.remaining());
+        Resources.release(buffer);
+
+        CharBuffer chars = Resources.getCharBuffer(valid, StandardCharsets.UTF_8);
+        Assertions.assertEquals(new String(bytes, StandardCharsets.UTF_8), chars.toString());
+    }
+
+    @Test
+    @Order(7)
+    void getBytesInsideJar() throws IOException {
+        Path jar = Files.createTempFile("ResourcesTest", ".jar");
+        byte[] content = new byte[100_000];
+        new Random(7).nextBytes(content);
+
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            out.putNextEntry(new JarEntry("ResourcesTest/blob.bin"));
+            out.write(content);
+            out.closeEntry();
+        }
+
+        Thread thread = Thread.currentThread();
+        ClassLoader original = thread.getContextClassLoader();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{jar.toUri().toURL()}, null)) {
+            thread.setContextClassLoader(classLoader);
+            Assertions.assertArrayEquals(content, Resources.getBytes("ResourcesTest/blob.bin"));
+
+            ByteBuffer buffer = Resources.getByteBuffer("ResourcesTest/blob.bin");
+            Assertions.assertTrue(buffer.isDirect());
+            byte[] read = new byte[buffer.remaining()];
+            buffer.get(read);
+            Assertions.assertArrayEquals(content, read);
+            Resources.release(buffer);
+            Resources.release(buffer);
+
+            ByteBuffer first = DirectBufferPool.acquire(buffer.capacity());
+            ByteBuffer second = DirectBufferPool.acquire(buffer.capacity());
+            Assertions.assertNotSame(first, second);
+            Resources.release(first);
+            Resources.release(second);
+        } finally {
+            thread.setContextClassLoader(original);
+            Files.deleteIfExists(jar);
+        }
+    }
+
+    @Test
+    @Order(8)
+    void getPathInsideJar() throws IOException {
+        Path jar = Files.createTempFile("ResourcesTest", ".jar");
+        jar.toFile().deleteOnExit();
+
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            out.putNextEntry(new JarEntry("ResourcesTest/a.txt"));
+            out.write("A".getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+            out.putNextEntry(new JarEntry("ResourcesTest/b.txt"));
+            out.write("B".getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+            out.putNextEntry(new JarEntry("ResourcesTest/a+b c.txt"));
+            out.write("A+B C".getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+
+        Thread thread = Thread.currentThread();
+        ClassLoader original = thread.getContextClassLoader();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{jar.toUri().toURL()}, null)) {
+            thread.setContextClassLoader(classLoader);
+            Path path = Resources.getPath("ResourcesTest/a.txt");
+            Assertions.assertTrue(Files.exists(path));
+            Assertions.assertEquals("A", Files.readString(path));
+
+            try (Stream<Path> siblings = Files.list(path.getParent())) {
+                Assertions.assertEquals(3, siblings.count());
+            }
+            Assertions.assertSame(path.getFileSystem(), Resources.getPath("ResourcesTest/b.txt").getFileSystem());
+            Assertions.assertEquals("A+B C", Files.readString(Resources.getPath("ResourcesTest/a+b c.txt")));
+        } finally {
+            thread.setContextClassLoader(original);
+        }
+    }
+
+    @Test
+    @Order(9)
+    void listAndGlob() {
+        Assertions.assertEquals(
+                List.of("com/github/ngoanh2n/PropFileTest/File2.properties",
+                        "com/github/ngoanh2n/PropFileTest/File3.properties",
+                        "com/github/ngoanh2n/PropFileTest/File4.properties",
+                        "com/github/ngoanh2n/PropFileTest/File5.properties"),
+                Resources.list("com/github/ngoanh2n/PropFileTest/"));
+        Assertions.assertEquals(4, Resources.glob("com/github/ngoanh2n/Data?.yml").size());
+        Assertions.assertEquals(0, Resources.glob("com/*/Data?.yml").size());
+        Assertions.assertEquals(
+                List.of("com/github/ngoanh2n/PropFileTest/File2.properties",
+                        "com/github/ngoanh2n/PropFileTest/File3.properties"),
+                Resources.glob("**/File{2,3}.properties"));
+
+        ResourceIndex.Entry entry = ResourceIndex.get().getEntry(valid);
+        Assertions.assertNotNull(entry);
+        Assertions.assertEquals(Resources.getFile(valid).length(), entry.size());
+    }
+
+    @Test
+    @Order(10)
+    void indexInsideJar() throws IOException {
+        Path jar = Files.createTempFile("ResourcesTest", ".jar");
+        Path indexFile = Files.createTempFile("ResourcesTest", ".index");
+        Files.delete(indexFile);
+
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            for (String name : List.of("testdata/a.yml", "testdata/b.yaml", "testdata/c.json", "testdata/d/e.yml", "Data.class")) {
+                out.putNextEntry(new JarEntry(name));
+                out.write(name.getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+        }
+
+        System.setProperty("ngoanh2n.resourceIndexFile", indexFile.toString());
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{jar.toUri().toURL()}, null)) {
+            ResourceIndex index = ResourceIndex.of(classLoader);
+            Assertions.assertEquals(4, index.size());
+            Assertions.assertEquals(3, index.glob("testdata/**.{yml,yaml}").size());
+            Assertions.assertEquals(2, index.glob("testdata/*.{yml,yaml}").size());
+            Assertions.assertEquals("testdata/d/e.yml".length(), index.getEntry("testdata/d/e.yml").size());
+            Assertions.assertTrue(Files.exists(indexFile));
+
+            long written = Files.getLastModifiedTime(indexFile).toMillis();
+            Files.setLastModifiedTime(indexFile, FileTime.fromMillis(written - 10_000));
+            Resources.clearCache();
+            Assertions.assertEquals(4, ResourceIndex.of(classLoader).size());
+            Assertions.assertEquals(written - 10_000, Files.getLastModifiedTime(indexFile).toMillis());
+        } finally {
+            System.clearProperty("ngoanh2n.resourceIndexFile");
+            Files.deleteIfExists(indexFile);
+        }
+
+        Path directory = Files.createTempDirectory(jar.getParent(), "ResourcesTest");
+        Files.writeString(directory.resolve("f.yml"), "f");
+        Path pathingJar = Files.createTempFile("ResourcesTest", ".jar");
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().put(Attributes.Name.CLASS_PATH, jar.getFileName() + " " + directory.getFileName() + "/");
+        new JarOutputStream(Files.newOutputStream(pathingJar), manifest).close();
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{pathingJar.toUri().toURL()}, null)) {
+            ResourceIndex index = ResourceIndex.of(classLoader);
+            Assertions.assertEquals(6, index.size());
+            Assertions.assertNotNull(index.getEntry("testdata/a.yml"));
+            Assertions.assertNotNull(index.getEntry("f.yml"));
+        } finally {
+            Files.deleteIfExists(directory.resolve("f.yml"));
+            Files.deleteIfExists(directory);
+            Files.deleteIfExists(pathingJar);
+            Files.deleteIfExists(jar);
+        }
+    }
+
+    @Test
+    @Order(11)
+    void contentCache() throws IOException {
+        Path directory = Files.createTempDirectory("ResourcesTest");
+        Path a = Files.writeString(directory.resolve("a.txt"), "A".repeat(40));
+        Path b = Files.writeString(directory.resolve("b.txt"), "B".repeat(40));
+
+        Thread thread = Thread.currentThread();
+        ClassLoader original = thread.getContextClassLoader();
+        System.setProperty("ngoanh2n.contentCache", "true");
+        System.setProperty("ngoanh2n.contentCacheSize", "200");
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{directory.toUri().toURL()}, null)) {
+            thread.setContextClassLoader(classLoader);
+            Resources.clearCache();
+
+            for (int i = 0; i < 3; i++) {
+                Assertions.assertEquals("A".repeat(40), Resources.getContent("a.txt", StandardCharsets.UTF_8));
+            }
+            Assertions.assertEquals(new Resources.CacheStats(2, 1, 0, 1, 144), Resources.getCacheStats());
+
+            Files.writeString(a, "a".repeat(40));
+            Files.setLastModifiedTime(a, FileTime.fromMillis(Files.getLastModifiedTime(a).toMillis() + 10_000));
+            Assertions.assertEquals("a".repeat(40), Resources.getContent("a.txt", StandardCharsets.UTF_8));
+            Assertions.assertEquals(2, Resources.getCacheStats().misses());
+
+            Resources.getContent("b.txt", StandardCharsets.UTF_8);
+            Assertions.assertEquals(0, Resources.getCacheStats().evictions());
+            for (int i = 0; i < 5; i++) {
+                Assertions.assertEquals("B".repeat(40), Resources.getContent("b.txt", StandardCharsets.UTF_8));
+            }
+            Resources.CacheStats stats = Resources.getCacheStats();
+            Assertions.assertEquals(1, stats.evictions());
+            Assertions.assertEquals(1, stats.size());
+
+            Resources.clearCache();
+            System.setProperty("ngoanh2n.contentCacheSize", "300");
+            Files.writeString(directory.resolve("c.txt"), "C".repeat(100));
+            Resources.getContent("a.txt", StandardCharsets.UTF_8);
+            for (int i = 0; i < 3; i++) {
+                Resources.getContent("b.txt", StandardCharsets.UTF_8);
+            }
+            // c beats a but not b, so it is rejected and a is kept
+            Resources.getContent("c.txt", StandardCharsets.UTF_8);
+            Resources.getContent("c.txt", StandardCharsets.UTF_8);
+            Assertions.assertEquals(new Resources.CacheStats(2, 4, 0, 2, 288), Resources.getCacheStats());
+
+            Resources.clearCache();
+            Resources.preload(List.of("a.txt"), StandardCharsets.UTF_8).join();
+            Assertions.assertEquals("a".repeat(40), Resources.getContent("a.txt", StandardCharsets.UTF_8));
+            Assertions.assertEquals(new Resources.CacheStats(1, 1, 0, 1, 144), Resources.getCacheStats());
+        } finally {
+            thread.setContextClassLoader(original);
+            System.clearProperty("ngoanh2n.contentCache");
+            System.clearProperty("ngoanh2n.contentCacheSize");
+            Resources.clearCache();
+            Files.delete(a);
+            Files.delete(b);
+            Files.deleteIfExists(directory.resolve("c.txt"));
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    @Order(12)
+    void lines() throws IOException {
+        Path directory = Files.createTempDirectory("ResourcesTest");
+        StringBuilder content = new StringBuilder();
+        String[] terminators = {"\n", "\r\n", "\r"};
+        for (int i = 0; i < 50_000; i++) {
+            content.append(i % 7 == 0 ? "" : "line \u00e9 " + i).append(terminators[i % 3]);
+        }
+        content.append("last");
+        Path utf8 = Files.writeString(directory.resolve("utf8.log"), content, StandardCharsets.UTF_8);
+        Path utf16 = Files.writeString(directory.resolve("utf16.log"), content, StandardCharsets.UTF_16);
+        List<String> expected = new BufferedReader(new StringReader(content.toString())).lines().collect(Collectors.toList());
+
+        Thread thread = Thread.currentThread();
+        ClassLoader original = thread.getContextClassLoader();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{directory.toUri().toURL()}, null)) {
+            thread.setContextClassLoader(classLoader);
+            try (Stream<String> lines = Resources.lines("utf8.log", StandardCharsets.UTF_8)) {
+                Assertions.assertEquals(expected, lines.collect(Collectors.toList()));
+            }
+            try (Stream<String> lines = Resources.lines("utf8.log", StandardCharsets.UTF_8)) {
+                Assertions.assertEquals(expected, lines.parallel().collect(Collectors.toList()));
+            }
+            try (Stream<String> lines = Resources.lines("utf16.log", StandardCharsets.UTF_16)) {
+                Assertions.assertEquals(expected, lines.collect(Collectors.toList()));
+            }
+        } finally {
+            thread.setContextClassLoader(original);
+            Resources.clearCache();
+            Files.delete(utf8);
+            Files.delete(utf16);
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    @Order(13)
+    void loadAllAsync() {
+        List<String> names = List.of(valid, "com/github/ngoanh2n/Data2.yml", valid);
+        Map<String, byte[]> contents = Resources.loadAllAsync(names).join();
+        Assertions.assertEquals(List.of(valid, "com/github/ngoanh2n/Data2.yml"), new ArrayList<>(contents.keySet()));
+        Assertions.assertArrayEquals(Resources.getBytes(valid), contents.get(valid));
+
+        Assertions.assertNull(Resources.preload(names).join());
+        CompletionException exception = Assertions.assertThrows(CompletionException.class, () -> Resources.preload(List.of(invalid)).join());
+        Assertions.assertTrue(exception.getCause() instanceof RuntimeError);
+    }
+
+    @Test
+    @Order(14)
+    void resourceRoots() throws IOException {
+        Path first = Files.createTempDirectory("ResourcesTest");
+        Path second = Files.createTempDirectory("ResourcesTest");
+        Path shadowed = Files.writeString(second.resolve("a.txt"), "second");
+        Path onlySecond = Files.writeString(second.resolve("b.txt"), "second");
+        Path a = Files.writeString(first.resolve("a.txt"), "first");
+
+        System.setProperty("ngoanh2n.findResourceOnClasspath", "false");
+        System.setProperty("ngoanh2n.resourceRoots", first + ", missing/resources ," + second);
+        try {
+            for (String parallel : new String[]{"false", "true"}) {
+                System.setProperty("ngoanh2n.resourceRootsParallel", parallel);
+                Resources.clearCache();
+                Assertions.assertEquals("first", Resources.getContent("a.txt", StandardCharsets.UTF_8));
+                Assertions.assertEquals("second", Resources.getContent("b.txt", StandardCharsets.UTF_8));
+                Assertions.assertThrows(RuntimeError.class, () -> Resources.getFile("c.txt"));
+            }
+
+            System.setProperty("ngoanh2n.resourceRoots", second + "," + first);
+            Assertions.assertEquals("second", Resources.getContent("a.txt", StandardCharsets.UTF_8));
+        } finally {
+            System.clearProperty("ngoanh2n.findResourceOnClasspath");
+            System.clearProperty("ngoanh2n.resourceRoots");
+            System.clearProperty("ngoanh2n.resourceRootsParallel");
+            Resources.clearCache();
+            Files.delete(a);
+            Files.delete(shadowed);
+            Files.delete(onlySecond);
+            Files.delete(first);
+            Files.delete(second);
+        }
+    }
+
+    @Test
+    @Order(15)
+    void compressed() throws IOException {
+        Path directory = Files.createTempDirectory("ResourcesTest");
+        Path yaml = directory.resolve("data.yml.gz");
+        Path corrupt = Files.write(directory.resolve("corrupt.txt.gz"), new byte[]{0x1F, (byte) 0x8B, 8, 0, 0, 0, 0, 0, 0, 0, 1, 2, 3});
+        String content = "name: ngoanh2n\nitems:\n" + "  - item\n".repeat(10_000);
+
+        try (OutputStream out = Files.newOutputStream(yaml)) {
+            int half = content.length() / 2;
+            for (String member : new String[]{content.substring(0, half), content.substring(half)}) {
+                GZIPOutputStream gzip = new GZIPOutputStream(out);
+                gzip.write(member.getBytes(StandardCharsets.UTF_8));
+                gzip.finish();
+            }
+        }
+
+        Thread thread = Thread.currentThread();
+        ClassLoader original = thread.getContextClassLoader();
+        Resources.CodecStats before = Resources.getCodecStats();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{directory.toUri().toURL()}, null)) {
+            thread.setContextClassLoader(classLoader);
+            Assertions.assertEquals(content, Resources.getContent("data.yml", StandardCharsets.UTF_8));
+            Assertions.assertArrayEquals(content.getBytes(StandardCharsets.UTF_8), Resources.getBytes("data.yml"));
+            Assertions.assertEquals("ngoanh2n", YamlData.toMapFromResource("data.yml", StandardCharsets.UTF_8).get("name"));
+            Assertions.assertThrows(RuntimeError.class, () -> Resources.getContent("corrupt.txt", StandardCharsets.UTF_8));
+
+            Resources.CodecStats after = Resources.getCodecStats();
+            Assertions.assertEquals(4, after.resources() - before.resources());
+            Assertions.assertTrue(after.decompressedBytes() - before.decompressedBytes() >= 3L * content.length());
+            Assertions.assertTrue(after.compressedBytes() - before.compressedBytes() < after.decompressedBytes() - before.decompressedBytes());
+        } finally {
+            thread.setContextClassLoader(original);
+            Resources.clearCache();
+            Files.delete(yaml);
+            Files.delete(corrupt);
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    @Order(16)
+    void findAndExists() {
+        Assertions.assertTrue(Resources.exists(valid));
+        Assertions.assertEquals(Resources.getPath(valid), Resources.find(valid).orElse(null));
+        Assertions.assertFalse(Resources.exists(invalid));
+        Assertions.assertFalse(Resources.find(invalid).isPresent());
+
+        RuntimeError error = RuntimeError.stackless("Not found");
+        Assertions.assertEquals("Not found", error.getMessage());
+        Assertions.assertEquals(0, error.getStackTrace().length);
+    }
 }
@@ -0,0 +1,53 @@
+package com.github.ngoanh2n;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.*;
+
+/**
+ * @author ngoanh2n
+ */
+public class SortedPropertiesTest {
+    @Test
+    void sortedViews() {
+        SortedProperties props = new SortedProperties();
+        props.putAll(Map.of("c", "3", "a", "1", "b", "2"));
+        props.setProperty("d", "4");
+        props.remove("b");
+        props.putIfAbsent("e", "5");
+        props.merge("a", "0", (o, n) -> o + "" + n);
+
+        Assertions.assertEquals(List.of("a", "c", "d", "e"), new ArrayList<>(props.keySet()));
+        Assertions.assertEquals(List.of("a", "c", "d", "e"), Collections.list(props.keys()));
+        Assertions.assertEquals("10", props.entrySet().iterator().next().getValue());
+
+        SortedProperties clone = (SortedProperties) props.clone();
+        clone.clear();
+        Assertions.assertEquals(4, props.keySet().size());
+        Assertions.assertTrue(clone.keySet().isEmpty());
+    }
+
+    @Test
+    void write() throws IOException {
+        SortedProperties props = new SortedProperties();
+        props.setProperty("z.key", "value with spaces");
+        props.setProperty("a key", "a=b:c#d!\\");
+        props.setProperty("m.key", " Tiếng Việt\n");
+
+        StringWriter writer = new StringWriter();
+        props.write(writer);
+
+        String[] lines = writer.toString().split(System.lineSeparator());
+        Assertions.assertEquals(3, lines.length);
+        Assertions.assertTrue(lines[0].startsWith("a\\ key="));
+        Assertions.assertTrue(lines[2].startsWith("z.key="));
+
+        Properties loaded = new Properties();
+        loaded.load(new StringReader(writer.toString()));
+        Assertions.assertEquals(props, loaded);
+    }
+}
@@ -3,7 +3,11 @@ package com.github.ngoanh2n;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author ngoanh2n
@@ -91,4 +95,34 @@ public class YamlDataTest {
         Assertions.assertEquals("v1", fromFile.getK1());
         Assertions.assertEquals("v2", fromFile.getK2());
     }
+
+    @Test
+    void toMapFromSnapshot() throws IOException {
+        Path dir = Files.createTempDirectory("YamlDataTest");
+        Path path = dir.resolve("snapshot.yml");
+        Files.writeString(path, String.join("\n",
+                "name: café",
+                "count: 3",
+                "size: 4294967296",
+                "big: 123456789012345678901234567890",
+                "ratio: 0.75",
+                "enabled: true",
+                "absent: null",
+                "date: 2024-01-02",
+                "items: [a, 1, {k: v}]"));
+        System.setProperty("ngoanh2n.configSnapshot", "true");
+        System.setProperty("ngoanh2n.configSnapshotDir", dir.resolve("snapshots").toString());
+
+        try {
+            Map<String, Object> parsed = YamlData.toMapFromFile(path.toString());
+            Assertions.assertEquals(1, Files.list(dir.resolve("snapshots")).count());
+
+            Map<String, Object> snapshot = YamlData.toMapFromFile(path.toString());
+            Assertions.assertEquals(parsed, snapshot);
+            Assertions.assertEquals(List.copyOf(parsed.keySet()), List.copyOf(snapshot.keySet()));
+        } finally {
+            System.clearProperty("ngoanh2n.configSnapshot");
+            System.clearProperty("ngoanh2n.configSnapshotDir");
+        }
+    }
 }